@@ -0,0 +1,47 @@
+package org.example.benchmark;
+
+import org.example.security.CachingAuthenticationProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthenticationBenchmark {
+
+    private DaoAuthenticationProvider bcryptProvider;
+    private CachingAuthenticationProvider cachingProvider;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        bcryptProvider = new DaoAuthenticationProvider();
+        bcryptProvider.setPasswordEncoder(passwordEncoder);
+        bcryptProvider.setUserDetailsService(new InMemoryUserDetailsManager(
+                User.withUsername("user").password(passwordEncoder.encode("password")).roles("USER").build()));
+        cachingProvider = new CachingAuthenticationProvider(bcryptProvider, Duration.ofMinutes(5), 10000);
+        cachingProvider.authenticate(token());
+    }
+
+    @Benchmark
+    public Authentication bcrypt() {
+        return bcryptProvider.authenticate(token());
+    }
+
+    @Benchmark
+    public Authentication cached() {
+        return cachingProvider.authenticate(token());
+    }
+
+    private static UsernamePasswordAuthenticationToken token() {
+        return new UsernamePasswordAuthenticationToken("user", "password");
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.benchmark;
+
+import org.example.model.Car;
+import org.example.model.Garage;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Car car(long n) {
+        return Car.builder()
+                .brand("brand" + n % 20)
+                .model("model" + n)
+                .price(100.0 + n % 500)
+                .fuelType(n % 3 == 0 ? "LPG" : "petrol")
+                .build();
+    }
+
+    static Garage garage(long n, int numberOfPlaces) {
+        return Garage.builder()
+                .address("address" + n)
+                .numberOfPlaces(numberOfPlaces)
+                .acceptsLPG(true)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.Reservation;
+import org.example.model.dto.CarDto;
+import org.example.model.dto.GarageDto;
+import org.example.model.dto.ReservationDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes list responses with the same Jackson setup Spring MVC uses for the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<CarDto> cars;
+    private List<GarageDto> garages;
+    private List<ReservationDto> reservations;
+
+    @Setup
+    public void setUp() {
+        cars = new ArrayList<>(size);
+        garages = new ArrayList<>(size);
+        reservations = new ArrayList<>(size);
+        LocalDate today = LocalDate.now();
+        for (long i = 0; i < size; i++) {
+            Car car = BenchmarkData.car(i);
+            car.setId(i);
+            Garage garage = BenchmarkData.garage(i, 10);
+            garage.setId(i);
+            cars.add(CarDto.fromEntity(car));
+            garages.add(GarageDto.fromEntity(garage));
+            reservations.add(ReservationDto.fromEntity(Reservation.builder()
+                    .id(i)
+                    .car(car)
+                    .garage(garage)
+                    .fromDate(today.plusDays(i % 365))
+                    .toDate(today.plusDays(i % 365 + 3))
+                    .build()));
+        }
+    }
+
+    @Benchmark
+    public byte[] cars() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cars);
+    }
+
+    @Benchmark
+    public byte[] garages() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(garages);
+    }
+
+    @Benchmark
+    public byte[] reservations() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reservations);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.benchmark;
+
+import org.example.mapper.CarMapper;
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.Reservation;
+import org.example.model.dto.CarDto;
+import org.example.model.dto.GarageDto;
+import org.example.model.dto.ReservationDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private final CarMapper carMapper = new CarMapper();
+
+    private List<Car> cars;
+    private List<Garage> garages;
+    private List<Reservation> reservations;
+
+    @Setup
+    public void setUp() {
+        cars = new ArrayList<>(size);
+        garages = new ArrayList<>(size);
+        reservations = new ArrayList<>(size);
+        LocalDate today = LocalDate.now();
+        for (long i = 0; i < size; i++) {
+            Car car = BenchmarkData.car(i);
+            car.setId(i);
+            Garage garage = BenchmarkData.garage(i, 10);
+            garage.setId(i);
+            cars.add(car);
+            garages.add(garage);
+            reservations.add(Reservation.builder()
+                    .id(i)
+                    .car(car)
+                    .garage(garage)
+                    .fromDate(today.plusDays(i % 365))
+                    .toDate(today.plusDays(i % 365 + 3))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<CarDto> carDtoFromEntity() {
+        return cars.stream().map(CarDto::fromEntity).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<CarDto> carMapperToDto() {
+        return cars.stream().map(carMapper::toDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<GarageDto> garageDtoFromEntity() {
+        return garages.stream().map(GarageDto::fromEntity).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ReservationDto> reservationDtoFromEntity() {
+        return reservations.stream().map(ReservationDto::fromEntity).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.benchmark;
+
+import org.example.GarageApplication;
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.Reservation;
+import org.example.model.command.CreateReservationCommand;
+import org.example.model.dto.ReservationDto;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.ReservationRepository;
+import org.example.service.GarageAvailabilityIndex;
+import org.example.service.ReservationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the booking path against the application's H2 database, seeded with {@code reservations}
+ * rows spread over {@code garages} garages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReservationServiceBenchmark {
+    private static final int DAYS = 3650;
+
+    @Param({"100"})
+    private int garages;
+
+    @Param({"10000", "100000"})
+    private int reservations;
+
+    private ConfigurableApplicationContext context;
+    private ReservationService reservationService;
+    private List<Long> garageIds;
+    private Long carId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(GarageApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN", "spring.jpa.open-in-view=false",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_ON_EXIT=FALSE")
+                .run();
+        reservationService = context.getBean(ReservationService.class);
+
+        Car car = context.getBean(CarRepository.class).save(BenchmarkData.car(0));
+        carId = car.getId();
+        GarageRepository garageRepository = context.getBean(GarageRepository.class);
+        List<Garage> savedGarages = new ArrayList<>(garages);
+        garageIds = new ArrayList<>(garages);
+        for (long i = 0; i < garages; i++) {
+            Garage garage = garageRepository.save(BenchmarkData.garage(i, Integer.MAX_VALUE));
+            savedGarages.add(garage);
+            garageIds.add(garage.getId());
+        }
+
+        ReservationRepository reservationRepository = context.getBean(ReservationRepository.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate today = LocalDate.now();
+        List<Reservation> batch = new ArrayList<>();
+        for (int i = 0; i < reservations; i++) {
+            LocalDate from = today.plusDays(random.nextInt(DAYS));
+            batch.add(Reservation.builder()
+                    .car(car)
+                    .garage(savedGarages.get(random.nextInt(garages)))
+                    .fromDate(from)
+                    .toDate(from.plusDays(random.nextInt(14)))
+                    .build());
+            if (batch.size() == 1000) {
+                reservationRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        reservationRepository.saveAll(batch);
+        context.getBean(GarageAvailabilityIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReservationDto save() {
+        return reservationService.save(randomCommand());
+    }
+
+    @Benchmark
+    public boolean checkIfReservationIsFree() {
+        return reservationService.checkIfReservationIsFree(randomCommand());
+    }
+
+    private CreateReservationCommand randomCommand() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate from = LocalDate.now().plusDays(random.nextInt(DAYS));
+        CreateReservationCommand command = new CreateReservationCommand();
+        command.setCarId(carId);
+        command.setGarageId(garageIds.get(random.nextInt(garageIds.size())));
+        command.setFromDate(from);
+        command.setToDate(from.plusDays(random.nextInt(14)));
+        return command;
+    }
+}
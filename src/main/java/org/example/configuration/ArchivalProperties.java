@@ -0,0 +1,24 @@
+package org.example.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "garage.archival")
+public class ArchivalProperties {
+    private boolean enabled = true;
+
+    /**
+     * How long soft-deleted rows stay in the hot tables. Change feed consumers lagging further behind than this miss
+     * the tombstones of archived reservations.
+     */
+    private Duration retention = Duration.ofDays(30);
+
+    private int batchSize = 500;
+
+    private Duration interval = Duration.ofHours(1);
+}
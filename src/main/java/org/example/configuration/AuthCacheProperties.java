@@ -0,0 +1,18 @@
+package org.example.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "garage.security.auth-cache")
+public class AuthCacheProperties {
+    private boolean enabled = true;
+
+    private Duration ttl = Duration.ofMinutes(5);
+
+    private long maxSize = 10_000;
+}
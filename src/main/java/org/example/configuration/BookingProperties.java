@@ -0,0 +1,40 @@
+package org.example.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "garage.booking")
+public class BookingProperties {
+    private Mode mode = Mode.PESSIMISTIC;
+
+    private int maxAttempts = 5;
+
+    private Duration lockTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Number of in-process locks the striped mode spreads garages over.
+     */
+    private int lockStripes = 64;
+
+    public enum Mode {
+        /**
+         * Serializes bookings of a garage by locking its row for the whole transaction.
+         */
+        PESSIMISTIC,
+        /**
+         * Books without DB locks and relies on the versioned per-day occupancy rows,
+         * retrying the whole booking when a concurrent one wins.
+         */
+        OPTIMISTIC,
+        /**
+         * Serializes bookings of a garage with an in-process lock. Only correct when a single node
+         * writes to the database.
+         */
+        STRIPED
+    }
+}
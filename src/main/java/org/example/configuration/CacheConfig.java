@@ -0,0 +1,26 @@
+package org.example.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String CARS = "cars";
+    public static final String GARAGES = "garages";
+
+    @Bean
+    public CacheManager cacheManager(EntityCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CARS, GARAGES);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "garage.diagnostics")
+public class DiagnosticsProperties {
+    private boolean enabled;
+
+    private Duration slowRequestThreshold = Duration.ofMillis(500);
+
+    private int maxStatements = 20;
+}
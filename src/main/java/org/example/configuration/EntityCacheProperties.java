@@ -0,0 +1,16 @@
+package org.example.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "garage.cache")
+public class EntityCacheProperties {
+    private long maxSize = 10_000;
+
+    private Duration ttl = Duration.ofMinutes(10);
+}
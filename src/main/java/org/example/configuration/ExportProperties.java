@@ -0,0 +1,14 @@
+package org.example.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "garage.export")
+public class ExportProperties {
+    private Duration timeout = Duration.ofHours(1);
+}
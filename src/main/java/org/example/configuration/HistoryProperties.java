@@ -0,0 +1,25 @@
+package org.example.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.Period;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "garage.history")
+public class HistoryProperties {
+    private boolean enabled;
+
+    /**
+     * Bookings that ended longer ago than this move to {@code reservation_history}. Overlap checks for dates before
+     * the cut-off no longer see them, so keep it longer than any back-dated booking you still expect to accept.
+     */
+    private Period gracePeriod = Period.ofDays(7);
+
+    private int batchSize = 500;
+
+    private Duration interval = Duration.ofHours(1);
+}
@@ -0,0 +1,38 @@
+package org.example.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "garage.notifications")
+public class NotificationProperties {
+    private boolean enabled;
+
+    private String from = "garage@localhost";
+
+    private List<String> recipients = new ArrayList<>();
+
+    /**
+     * Total number of notifications waiting to be sent, split evenly between the workers.
+     */
+    private int queueCapacity = 1000;
+
+    private int workers = 2;
+
+    private int batchSize = 50;
+
+    /**
+     * How long a worker keeps collecting events after the first one before sending the batch.
+     */
+    private Duration batchWindow = Duration.ofMillis(200);
+
+    private int maxAttempts = 3;
+
+    private Duration retryBackoff = Duration.ofSeconds(1);
+}
@@ -0,0 +1,45 @@
+package org.example.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "garage.outbox")
+public class OutboxProperties {
+    public enum Sink {
+        /**
+         * Appends one JSON document per event to {@code garage.outbox.log-file}.
+         */
+        LOG,
+        /**
+         * POSTs each batch as a JSON array to {@code garage.outbox.http.url}.
+         */
+        HTTP
+    }
+
+    private boolean enabled;
+
+    private Sink sink = Sink.LOG;
+
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    private int batchSize = 1000;
+
+    private Path logFile = Paths.get("data", "outbox.ndjson");
+
+    private Http http = new Http();
+
+    @Getter
+    @Setter
+    public static class Http {
+        private String url;
+
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+}
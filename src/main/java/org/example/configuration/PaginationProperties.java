@@ -0,0 +1,21 @@
+package org.example.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "garage.pagination")
+public class PaginationProperties {
+    private int defaultSize = 100;
+
+    private int maxSize = 1000;
+
+    public int resolveSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+}
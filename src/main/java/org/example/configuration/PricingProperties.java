@@ -0,0 +1,55 @@
+package org.example.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "garage.pricing")
+public class PricingProperties {
+    private boolean enabled;
+
+    /**
+     * Base URL of the pricing service, e.g. {@code http://pricing:8080}.
+     */
+    private String url;
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration readTimeout = Duration.ofSeconds(2);
+
+    private int maxIdleConnections = 20;
+
+    private Duration keepAlive = Duration.ofMinutes(5);
+
+    /**
+     * Number of threads calling the pricing service, which is also the most requests it sees from us at once.
+     */
+    private int concurrency = 8;
+
+    private Duration cacheTtl = Duration.ofMinutes(10);
+
+    private int cacheMaxSize = 10000;
+
+    /**
+     * Consecutive failed calls after which the circuit opens and lookups are rejected without calling the service.
+     */
+    private int failureThreshold = 5;
+
+    /**
+     * How long an open circuit rejects lookups before a single trial call is let through.
+     */
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    private Duration refreshInterval = Duration.ofMinutes(15);
+
+    private int batchSize = 200;
+
+    /**
+     * How long the refresh job waits for the prices of one batch; cars still pending keep their current price.
+     */
+    private Duration batchTimeout = Duration.ofSeconds(30);
+}
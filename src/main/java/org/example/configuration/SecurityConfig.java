@@ -1,22 +1,32 @@
 package org.example.configuration;
 
+import org.example.security.CachingAuthenticationProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 
 @Configuration
 @EnableGlobalMethodSecurity(securedEnabled = true)
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     @Autowired
-    public void configureGlobal(AuthenticationManagerBuilder auth, PasswordEncoder passwordEncoder) throws Exception {
-        auth
-                .inMemoryAuthentication()
-                .withUser("user").password(passwordEncoder.encode("password")).roles("USER");
+    public void configureGlobal(AuthenticationManagerBuilder auth, PasswordEncoder passwordEncoder,
+                                AuthCacheProperties authCacheProperties) throws Exception {
+        DaoAuthenticationProvider passwordProvider = new DaoAuthenticationProvider();
+        passwordProvider.setPasswordEncoder(passwordEncoder);
+        passwordProvider.setUserDetailsService(new InMemoryUserDetailsManager(
+                User.withUsername("user").password(passwordEncoder.encode("password")).roles("USER").build()));
+
+        auth.authenticationProvider(authCacheProperties.isEnabled()
+                ? new CachingAuthenticationProvider(passwordProvider, authCacheProperties.getTtl(), authCacheProperties.getMaxSize())
+                : passwordProvider);
     }
 
     @Override
@@ -0,0 +1,40 @@
+package org.example.configuration;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> threadModeCustomizer(ThreadingProperties properties) {
+        return protocolHandler -> {
+            if (properties.getMode() == ThreadingProperties.Mode.VIRTUAL) {
+                protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+            }
+        };
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        try {
+            newVirtualThreadPerTaskExecutor().shutdown();
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    // looked up reflectively so the code still compiles for releases without virtual threads
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            throw new IllegalStateException("garage.threads.mode=virtual needs Java 21, or Java 19/20 with --enable-preview", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "garage.threads")
+public class ThreadingProperties {
+    private Mode mode = Mode.PLATFORM;
+
+    public enum Mode {
+        /**
+         * Tomcat's own bounded worker pool (server.tomcat.threads.max).
+         */
+        PLATFORM,
+        /**
+         * One virtual thread per request; concurrency is then bounded by the Hikari pool instead.
+         */
+        VIRTUAL
+    }
+}
@@ -1,14 +1,18 @@
 package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.model.Car;
 import org.example.service.CarService;
 import org.example.model.command.CreateCarCommand;
 import org.example.model.dto.CarDto;
 import org.example.model.command.UpdateCarCommand;
+import org.example.model.filter.CarFilter;
+import org.example.tracking.ChangeTracker;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
@@ -21,6 +25,7 @@ import java.util.List;
 public class CarController {
 
     private final CarService carService;
+    private final ChangeTracker changeTracker;
 
     @PostMapping
     public ResponseEntity<CarDto> save(@RequestBody @Valid CreateCarCommand command) {
@@ -29,13 +34,18 @@ public class CarController {
     }
 
     @GetMapping
-    public List<CarDto> getAllCars() {
-        return carService.getAllCars();
+    public ResponseEntity<List<CarDto>> getAllCars(CarFilter filter,
+                                                   @RequestParam(required = false) Long after,
+                                                   @RequestParam(required = false) Integer size,
+                                                   WebRequest request) {
+        return ConditionalResponse.of(request, changeTracker.stamp(Car.class),
+                () -> KeysetPageResponse.of(carService.getCars(filter, after, size)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CarDto> getCarById(@PathVariable Long id) {
-        return ResponseEntity.of(carService.getCarById(id));
+    public ResponseEntity<CarDto> getCarById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponse.of(request, changeTracker.stamp(Car.class),
+                () -> ResponseEntity.of(carService.getCarById(id)));
     }
 
 
@@ -0,0 +1,30 @@
+package org.example.controller;
+
+import org.example.tracking.ChangeStamp;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+final class ConditionalResponse {
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponse() {
+    }
+
+    /**
+     * Answers {@code 304 Not Modified} straight from the change stamp when the client's ETag still matches, so the
+     * response is only built, and the database only queried, when something has changed.
+     */
+    static <T> ResponseEntity<T> of(WebRequest request, ChangeStamp stamp, Supplier<ResponseEntity<T>> response) {
+        if (request.checkNotModified(stamp.getEtag())) {
+            return null;
+        }
+        ResponseEntity<T> built = response.get();
+        return ResponseEntity.status(built.getStatusCode())
+                .headers(built.getHeaders())
+                .cacheControl(REVALIDATE)
+                .body(built.getBody());
+    }
+}
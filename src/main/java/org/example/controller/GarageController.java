@@ -1,16 +1,23 @@
 package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.model.Garage;
 import org.example.model.command.CreateGarageCommand;
 import org.example.model.command.UpdateGarageCommand;
 import org.example.model.dto.GarageDto;
+import org.example.model.dto.GarageOccupancyDto;
+import org.example.model.filter.GarageFilter;
 import org.example.service.GarageService;
+import org.example.tracking.ChangeTracker;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,6 +25,7 @@ import java.util.List;
 @RequestMapping("/api/garages")
 public class GarageController {
     private final GarageService garageService;
+    private final ChangeTracker changeTracker;
 
     @PostMapping
     public ResponseEntity<GarageDto> addGarage(@RequestBody @Valid CreateGarageCommand command) {
@@ -26,13 +34,25 @@ public class GarageController {
     }
 
     @GetMapping
-    public List<GarageDto> getAllGarages() {
-        return garageService.getAllGarages();
+    public ResponseEntity<List<GarageDto>> getAllGarages(GarageFilter filter,
+                                                         @RequestParam(required = false) Long after,
+                                                         @RequestParam(required = false) Integer size,
+                                                         WebRequest request) {
+        return ConditionalResponse.of(request, changeTracker.stamp(Garage.class),
+                () -> KeysetPageResponse.of(garageService.getGarages(filter, after, size)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<GarageDto> getGarageById(@PathVariable Long id) {
-        return ResponseEntity.of(garageService.getGarageById(id));
+    public ResponseEntity<GarageDto> getGarageById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponse.of(request, changeTracker.stamp(Garage.class),
+                () -> ResponseEntity.of(garageService.getGarageById(id)));
+    }
+
+    @GetMapping("/{id}/occupancy")
+    public ResponseEntity<GarageOccupancyDto> getOccupancy(@PathVariable Long id,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.of(garageService.getOccupancy(id, from, to));
     }
 
     @DeleteMapping("/{id}")
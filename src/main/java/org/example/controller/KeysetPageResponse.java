@@ -0,0 +1,21 @@
+package org.example.controller;
+
+import org.example.model.dto.KeysetPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+final class KeysetPageResponse {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private KeysetPageResponse() {
+    }
+
+    static <T> ResponseEntity<List<T>> of(KeysetPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getItems());
+    }
+}
@@ -1,23 +1,45 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.example.configuration.ExportProperties;
+import org.example.model.Reservation;
 import org.example.model.command.CreateReservationCommand;
 import org.example.model.command.UpdateReservationCommand;
+import org.example.model.dto.FreeSlotDto;
+import org.example.model.dto.ReservationBatchResultDto;
+import org.example.model.dto.ReservationChangeDto;
 import org.example.model.dto.ReservationDto;
+import org.example.model.filter.FreeSlotQuery;
+import org.example.model.filter.ReservationFilter;
 import org.example.service.ReservationService;
+import org.example.tracking.ChangeTracker;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/reservations")
 public class ReservationController {
     private final ReservationService reservationService;
+    private final ObjectMapper objectMapper;
+    private final ChangeTracker changeTracker;
+    private final ExportProperties exportProperties;
 
     @PostMapping
     public ResponseEntity<ReservationDto> addReservation(@RequestBody @Valid CreateReservationCommand command) {
@@ -25,14 +47,61 @@ public class ReservationController {
         return ResponseEntity.created(URI.create("/api/reservations" + addedReservation.getId())).body(addedReservation);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ReservationBatchResultDto> addReservations(@RequestBody List<CreateReservationCommand> commands) {
+        return ResponseEntity.ok(reservationService.saveAll(commands));
+    }
+
     @GetMapping
-    public List<ReservationDto> getAllReservations() {
-        return reservationService.getAllReservations();
+    public ResponseEntity<List<ReservationDto>> getAllReservations(ReservationFilter filter,
+                                                                   @RequestParam(required = false) Long after,
+                                                                   @RequestParam(required = false) Integer size,
+                                                                   WebRequest request) {
+        return ConditionalResponse.of(request, changeTracker.stamp(Reservation.class),
+                () -> KeysetPageResponse.of(reservationService.getReservations(filter, after, size)));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<List<ReservationChangeDto>> getChanges(@RequestParam(required = false) Long after,
+                                                                 @RequestParam(required = false) Integer size) {
+        return KeysetPageResponse.of(reservationService.getChanges(after, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportReservations(NativeWebRequest request) {
+        // a full export can outlive the container's default async timeout, so only this request gets a longer one
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ExportProperties.class,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                        ((AsyncWebRequest) asyncRequest).setTimeout(exportProperties.getTimeout().toMillis());
+                    }
+                });
+        StreamingResponseBody body = out -> {
+            out.flush();
+            reservationService.exportReservations(reservation -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(reservation));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/free-slots")
+    public ResponseEntity<List<FreeSlotDto>> findFreeSlots(FreeSlotQuery query) {
+        return ResponseEntity.ok(reservationService.findFreeSlots(query));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ReservationDto> getReservationById(@PathVariable Long id) {
-        return ResponseEntity.of(reservationService.getReservationById(id));
+    public ResponseEntity<ReservationDto> getReservationById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponse.of(request, changeTracker.stamp(Reservation.class),
+                () -> ResponseEntity.of(reservationService.getReservationById(id)));
     }
 
     @DeleteMapping("/{id}")
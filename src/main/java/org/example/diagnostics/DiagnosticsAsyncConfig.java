@@ -0,0 +1,38 @@
+package org.example.diagnostics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carries the request's {@link RequestDiagnostics} over to the thread that runs its async work, so the
+ * statements of a {@code StreamingResponseBody} export are counted against the request that started it.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "garage.diagnostics", name = "enabled", havingValue = "true")
+public class DiagnosticsAsyncConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+                Object diagnostics = request.getAttribute(RequestDiagnostics.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+                if (diagnostics != null) {
+                    RequestDiagnostics.attach((RequestDiagnostics) diagnostics);
+                }
+            }
+
+            @Override
+            public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object result) {
+                RequestDiagnostics.close();
+            }
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configuration.DiagnosticsProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "garage.diagnostics", name = "enabled", havingValue = "true")
+public class DiagnosticsFilter extends OncePerRequestFilter {
+    private final DiagnosticsProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestDiagnostics diagnostics = RequestDiagnostics.open();
+        request.setAttribute(RequestDiagnostics.ATTRIBUTE, diagnostics);
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDiagnostics.close();
+            if (request.isAsyncStarted()) {
+                // async dispatches are not filtered again, so report once the async work has completed
+                String method = request.getMethod();
+                String uri = request.getRequestURI();
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        report(method, uri, start, diagnostics);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                report(request.getMethod(), request.getRequestURI(), start, diagnostics);
+            }
+        }
+    }
+
+    private void report(String method, String uri, long start, RequestDiagnostics diagnostics) {
+        long elapsed = System.nanoTime() - start;
+        boolean slow = elapsed > properties.getSlowRequestThreshold().toNanos();
+        if (slow || diagnostics.getStatements() > properties.getMaxStatements()) {
+            log.warn("{} {} took {} ms: {} statements, {} ms in db, {} ms waiting for garage locks",
+                    method, uri, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    diagnostics.getStatements(), TimeUnit.NANOSECONDS.toMillis(diagnostics.getDbNanos()),
+                    TimeUnit.NANOSECONDS.toMillis(diagnostics.getLockWaitNanos()));
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {} took {} ms: {} statements", method, uri,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), diagnostics.getStatements());
+        }
+    }
+}
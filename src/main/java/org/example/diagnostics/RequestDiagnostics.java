@@ -0,0 +1,48 @@
+package org.example.diagnostics;
+
+import lombok.Getter;
+
+/**
+ * Per-request totals of SQL statements, time spent executing them and time spent waiting for garage locks.
+ * Only collected while {@link DiagnosticsFilter} has opened a scope on the current thread, or while
+ * {@link DiagnosticsAsyncConfig} has attached the request's scope to the thread running its async work.
+ */
+@Getter
+public class RequestDiagnostics {
+    static final String ATTRIBUTE = RequestDiagnostics.class.getName();
+
+    private static final ThreadLocal<RequestDiagnostics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long dbNanos;
+    private long lockWaitNanos;
+
+    static RequestDiagnostics open() {
+        RequestDiagnostics diagnostics = new RequestDiagnostics();
+        CURRENT.set(diagnostics);
+        return diagnostics;
+    }
+
+    static void attach(RequestDiagnostics diagnostics) {
+        CURRENT.set(diagnostics);
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    public static void statementExecuted(long nanos) {
+        RequestDiagnostics diagnostics = CURRENT.get();
+        if (diagnostics != null) {
+            diagnostics.statements++;
+            diagnostics.dbNanos += nanos;
+        }
+    }
+
+    public static void lockWaited(long nanos) {
+        RequestDiagnostics diagnostics = CURRENT.get();
+        if (diagnostics != null) {
+            diagnostics.lockWaitNanos += nanos;
+        }
+    }
+}
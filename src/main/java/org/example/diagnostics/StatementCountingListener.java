@@ -0,0 +1,30 @@
+package org.example.diagnostics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Registered through {@code hibernate.session.events.auto}; Hibernate creates one instance per session.
+ */
+public class StatementCountingListener extends BaseSessionEventListener {
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestDiagnostics.statementExecuted(System.nanoTime() - start);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestDiagnostics.statementExecuted(System.nanoTime() - start);
+    }
+}
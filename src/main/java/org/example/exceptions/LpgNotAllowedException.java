@@ -0,0 +1,11 @@
+package org.example.exceptions;
+
+public class LpgNotAllowedException extends RuntimeException {
+    public LpgNotAllowedException(String message) {
+        super(message);
+    }
+
+    public LpgNotAllowedException() {
+        super();
+    }
+}
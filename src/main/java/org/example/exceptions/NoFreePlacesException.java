@@ -0,0 +1,11 @@
+package org.example.exceptions;
+
+public class NoFreePlacesException extends RuntimeException {
+    public NoFreePlacesException(String message) {
+        super(message);
+    }
+
+    public NoFreePlacesException() {
+        super();
+    }
+}
@@ -1,11 +1,13 @@
 package org.example.model;
 
 import lombok.*;
+import org.example.tracking.ChangeTrackingListener;
 
 import javax.persistence.*;
 import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import java.time.Instant;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -13,8 +15,9 @@ import javax.validation.constraints.NotNull;
 @Setter
 @Builder
 @Entity
+@EntityListeners(ChangeTrackingListener.class)
 @ToString
-@Table(name = "car")
+@Table(name = "car", indexes = @Index(name = "idx_car_deleted_id", columnList = "deleted, id"))
 public class Car {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -35,4 +38,6 @@ public class Car {
     private String fuelType;
 
     private boolean deleted;
+
+    private Instant deletedAt;
 }
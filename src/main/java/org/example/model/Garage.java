@@ -1,10 +1,12 @@
 package org.example.model;
 
 import lombok.*;
+import org.example.tracking.ChangeTrackingListener;
 
 import javax.persistence.*;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
+import java.time.Instant;
 
 
 @AllArgsConstructor
@@ -13,7 +15,8 @@ import javax.validation.constraints.NotBlank;
 @Setter
 @Builder
 @Entity
-@Table(name = "garage")
+@EntityListeners(ChangeTrackingListener.class)
+@Table(name = "garage", indexes = @Index(name = "idx_garage_deleted_id", columnList = "deleted, id"))
 @ToString
 public class Garage {
     @Id
@@ -29,4 +32,6 @@ public class Garage {
     private boolean acceptsLPG;
 
     private boolean deleted;
+
+    private Instant deletedAt;
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package org.example.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "garage_occupancy",
+        uniqueConstraints = @UniqueConstraint(name = "uk_garage_occupancy_day", columnNames = {"garage_id", "occupancy_day"}))
+public class GarageOccupancy {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "garage_occupancy_seq")
+    @SequenceGenerator(name = "garage_occupancy_seq", sequenceName = "garage_occupancy_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "garage_id", nullable = false)
+    private Long garageId;
+
+    @Column(name = "occupancy_day", nullable = false)
+    private LocalDate day;
+
+    private int booked;
+
+    @Version
+    private long version;
+}
@@ -1,11 +1,13 @@
 package org.example.model;
 
 import lombok.*;
+import org.example.tracking.ChangeTrackingListener;
 import org.example.model.Car;
 import org.example.model.Garage;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @AllArgsConstructor
@@ -14,10 +16,18 @@ import java.time.LocalDate;
 @Setter
 @Builder
 @Entity
-@Table(name = "reservation")
+@EntityListeners(ChangeTrackingListener.class)
+@Table(name = "reservation", indexes = {
+        @Index(name = "idx_reservation_garage_dates", columnList = "garage_id, fromDate, toDate"),
+        @Index(name = "idx_reservation_car_dates", columnList = "car_id, fromDate"),
+        @Index(name = "idx_reservation_change_seq", columnList = "changeSeq"),
+        @Index(name = "idx_reservation_deleted_id", columnList = "deleted, id"),
+        @Index(name = "idx_reservation_deleted_to_date", columnList = "deleted, toDate")
+})
 public class Reservation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_seq")
+    @SequenceGenerator(name = "reservation_seq", sequenceName = "reservation_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -26,13 +36,17 @@ public class Reservation {
     @NotNull
     private LocalDate toDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull
     private Car car;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull
     private Garage garage;
 
     private boolean deleted;
+
+    private Instant deletedAt;
+
+    private Long changeSeq;
 }
@@ -0,0 +1,45 @@
+package org.example.model;
+
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A past booking moved out of {@code reservation} by the history roll-over. Rows are written in bulk by
+ * {@code ReservationRepository.copyToHistory} and never change afterwards; car and garage are kept as plain ids so that
+ * archiving a car or garage never has to look at history.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+@Entity
+@Immutable
+@Table(name = "reservation_history", indexes = {
+        @Index(name = "idx_reservation_history_garage_dates", columnList = "garage_id, fromDate"),
+        @Index(name = "idx_reservation_history_car_dates", columnList = "car_id, fromDate")
+})
+public class ReservationHistory {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate fromDate;
+
+    @Column(nullable = false)
+    private LocalDate toDate;
+
+    @Column(name = "car_id")
+    private Long carId;
+
+    @Column(name = "garage_id")
+    private Long garageId;
+
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private Instant retiredAt;
+}
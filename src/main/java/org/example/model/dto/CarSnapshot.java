@@ -0,0 +1,27 @@
+package org.example.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.model.Car;
+
+/**
+ * Immutable copy of the car fields a booking needs. This is what the car cache holds, so cached values can be shared
+ * between threads without anyone changing or merging them.
+ */
+@Getter
+@AllArgsConstructor
+public class CarSnapshot {
+    private final Long id;
+
+    private final String brand;
+
+    private final String model;
+
+    private final Double price;
+
+    private final String fuelType;
+
+    public static CarSnapshot fromEntity(Car car) {
+        return new CarSnapshot(car.getId(), car.getBrand(), car.getModel(), car.getPrice(), car.getFuelType());
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.model.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FreeSlotDto {
+    private Long garageId;
+
+    private String address;
+
+    private LocalDate fromDate;
+
+    private LocalDate toDate;
+}
@@ -0,0 +1,18 @@
+package org.example.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GarageOccupancyDto {
+    private Long garageId;
+
+    private int numberOfPlaces;
+
+    private List<OccupancyDayDto> days;
+}
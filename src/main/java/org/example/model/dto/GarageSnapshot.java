@@ -0,0 +1,24 @@
+package org.example.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.model.Garage;
+
+/**
+ * Immutable copy of the garage fields a booking needs; see {@link CarSnapshot}.
+ */
+@Getter
+@AllArgsConstructor
+public class GarageSnapshot {
+    private final Long id;
+
+    private final String address;
+
+    private final int numberOfPlaces;
+
+    private final boolean acceptsLPG;
+
+    public static GarageSnapshot fromEntity(Garage garage) {
+        return new GarageSnapshot(garage.getId(), garage.getAddress(), garage.getNumberOfPlaces(), garage.isAcceptsLPG());
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class KeysetPage<T> {
+    private List<T> items;
+
+    private Long nextCursor;
+
+    public static <E, T> KeysetPage<T> of(List<E> rows, int size, Function<E, Long> id, Function<E, T> mapper) {
+        List<E> page = rows.size() > size ? rows.subList(0, size) : rows;
+        Long nextCursor = rows.size() > size ? id.apply(page.get(page.size() - 1)) : null;
+        return new KeysetPage<>(page.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+}
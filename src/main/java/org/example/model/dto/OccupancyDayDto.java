@@ -0,0 +1,18 @@
+package org.example.model.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OccupancyDayDto {
+    private LocalDate day;
+
+    private int booked;
+
+    private int free;
+}
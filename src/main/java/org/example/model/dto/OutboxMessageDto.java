@@ -0,0 +1,35 @@
+package org.example.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.*;
+import org.example.model.OutboxEvent;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OutboxMessageDto {
+    private Long id;
+
+    private String type;
+
+    private Long aggregateId;
+
+    private Instant createdAt;
+
+    @JsonRawValue
+    private String payload;
+
+    public static OutboxMessageDto fromEntity(OutboxEvent event) {
+        return OutboxMessageDto.builder()
+                .id(event.getId())
+                .type(event.getEventType())
+                .aggregateId(event.getAggregateId())
+                .createdAt(event.getCreatedAt())
+                .payload(event.getPayload())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.model.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReservationBatchItemDto {
+    private int index;
+
+    private boolean created;
+
+    private ReservationDto reservation;
+
+    private String error;
+}
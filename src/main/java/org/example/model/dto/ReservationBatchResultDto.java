@@ -0,0 +1,18 @@
+package org.example.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReservationBatchResultDto {
+    private int created;
+
+    private int rejected;
+
+    private List<ReservationBatchItemDto> items;
+}
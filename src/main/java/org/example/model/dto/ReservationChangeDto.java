@@ -0,0 +1,26 @@
+package org.example.model.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReservationChangeDto {
+    private Long sequence;
+
+    private Long id;
+
+    private Long carId;
+
+    private Long garageId;
+
+    private LocalDate fromDate;
+
+    private LocalDate toDate;
+
+    private boolean deleted;
+}
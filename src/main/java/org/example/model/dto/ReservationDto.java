@@ -35,6 +35,7 @@ public class ReservationDto {
                 .garageId(reservation.getGarage().getId())
                 .fromDate(reservation.getFromDate())
                 .toDate(reservation.getToDate())
+                .deleted(reservation.isDeleted())
                 .build();
     }
 }
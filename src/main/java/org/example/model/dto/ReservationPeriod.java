@@ -0,0 +1,14 @@
+package org.example.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class ReservationPeriod {
+    private LocalDate fromDate;
+
+    private LocalDate toDate;
+}
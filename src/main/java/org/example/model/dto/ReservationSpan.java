@@ -0,0 +1,21 @@
+package org.example.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Number of active reservations of a garage that share the same date range.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationSpan {
+    private Long garageId;
+
+    private LocalDate fromDate;
+
+    private LocalDate toDate;
+
+    private long count;
+}
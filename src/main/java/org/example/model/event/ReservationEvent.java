@@ -0,0 +1,21 @@
+package org.example.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.example.model.dto.ReservationDto;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ReservationEvent {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        CANCELLED
+    }
+
+    private final Type type;
+
+    private final ReservationDto reservation;
+}
@@ -0,0 +1,14 @@
+package org.example.model.filter;
+
+import lombok.Data;
+
+@Data
+public class CarFilter {
+    private String brand;
+
+    private String fuelType;
+
+    private Double minPrice;
+
+    private Double maxPrice;
+}
@@ -0,0 +1,10 @@
+package org.example.model.filter;
+
+import lombok.Data;
+
+@Data
+public class GarageFilter {
+    private Boolean acceptsLPG;
+
+    private Integer minPlaces;
+}
@@ -0,0 +1,214 @@
+package org.example.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configuration.NotificationProperties;
+import org.example.model.dto.ReservationDto;
+import org.example.model.event.ReservationEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Sends confirmation, update and cancellation mails for reservations without touching the booking transaction.
+ * <p>
+ * Events are picked up after commit and put on a bounded queue without waiting: a batch booking publishes one event
+ * per item on the request thread, so when the queue is full the mail is dropped and counted rather than holding up
+ * the response. Each worker owns one queue and every
+ * reservation always hashes to the same queue, so mails about one reservation go out in order. A worker collects
+ * events for {@code batch-window}, folds several events about the same reservation into one mail and sends the batch
+ * over a single SMTP connection, retrying failed messages with exponential backoff.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "garage.notifications", name = "enabled", havingValue = "true")
+public class ReservationMailNotifier {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final JavaMailSender mailSender;
+    private final NotificationProperties properties;
+    private final List<BlockingQueue<ReservationEvent>> queues;
+    private final ExecutorService workers;
+    private final Counter sent;
+    private final Counter dropped;
+    private final Counter failed;
+    private volatile boolean running = true;
+    private volatile boolean dropping;
+
+    public ReservationMailNotifier(JavaMailSender mailSender, NotificationProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getRecipients().isEmpty()) {
+            throw new IllegalStateException("garage.notifications.recipients must not be empty when notifications are enabled");
+        }
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.sent = meterRegistry.counter("garage.notifications", "outcome", "sent");
+        this.dropped = meterRegistry.counter("garage.notifications", "outcome", "dropped");
+        this.failed = meterRegistry.counter("garage.notifications", "outcome", "failed");
+
+        int workerCount = Math.max(1, properties.getWorkers());
+        int capacity = Math.max(1, properties.getQueueCapacity() / workerCount);
+        this.queues = new ArrayList<>();
+        for (int i = 0; i < workerCount; i++) {
+            queues.add(new ArrayBlockingQueue<>(capacity));
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, task -> {
+            Thread thread = new Thread(task, "reservation-mail-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        queues.forEach(queue -> workers.execute(() -> drain(queue)));
+    }
+
+    @TransactionalEventListener
+    public void onReservationEvent(ReservationEvent event) {
+        BlockingQueue<ReservationEvent> queue = queues.get((int) Math.floorMod(event.getReservation().getId(), (long) queues.size()));
+        if (queue.offer(event)) {
+            dropping = false;
+            return;
+        }
+        dropped.increment();
+        // one warning per overflow, not one per event of a large batch
+        if (!dropping) {
+            dropping = true;
+            log.warn("Mail queue is full, dropping notifications until it drains");
+        }
+        log.debug("Dropping {} notification for reservation {}", event.getType(), event.getReservation().getId());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Folds the events of one batch into at most one mail per reservation: the latest state wins, a reservation that
+     * was created inside the batch is still announced as created, and one created and cancelled inside the batch is
+     * not mentioned at all.
+     */
+    static List<ReservationEvent> coalesce(List<ReservationEvent> events) {
+        Map<Long, ReservationEvent> latest = new LinkedHashMap<>();
+        for (ReservationEvent event : events) {
+            Long id = event.getReservation().getId();
+            ReservationEvent previous = latest.get(id);
+            if (previous != null && previous.getType() == ReservationEvent.Type.CREATED) {
+                if (event.getType() == ReservationEvent.Type.CANCELLED) {
+                    latest.remove(id);
+                    continue;
+                }
+                event = new ReservationEvent(ReservationEvent.Type.CREATED, event.getReservation());
+            }
+            latest.put(id, event);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    private void drain(BlockingQueue<ReservationEvent> queue) {
+        List<ReservationEvent> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                ReservationEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.getBatchWindow().toNanos();
+                while (batch.size() < properties.getBatchSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    ReservationEvent next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                send(coalesce(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failed.increment(batch.size());
+                log.error("Could not send {} reservation notifications", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<ReservationEvent> events) throws InterruptedException {
+        List<MimeMessage> pending = events.stream().map(this::toMessage).collect(Collectors.toList());
+        long backoff = properties.getRetryBackoff().toMillis();
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            try {
+                mailSender.send(pending.toArray(new MimeMessage[0]));
+                sent.increment(pending.size());
+                return;
+            } catch (MailException e) {
+                if (e instanceof MailSendException && !((MailSendException) e).getFailedMessages().isEmpty()) {
+                    Map<Object, Exception> failedMessages = ((MailSendException) e).getFailedMessages();
+                    sent.increment(pending.size() - failedMessages.size());
+                    pending = pending.stream().filter(failedMessages::containsKey).collect(Collectors.toList());
+                }
+                if (attempt >= properties.getMaxAttempts()) {
+                    failed.increment(pending.size());
+                    log.warn("Giving up on {} reservation notifications after {} attempts", pending.size(), attempt, e);
+                    return;
+                }
+                log.debug("Sending {} reservation notifications failed, retrying in {} ms", pending.size(), backoff, e);
+            }
+            Thread.sleep(backoff);
+            backoff *= 2;
+        }
+    }
+
+    private MimeMessage toMessage(ReservationEvent event) {
+        ReservationDto reservation = event.getReservation();
+        MimeMessage message = mailSender.createMimeMessage();
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+            helper.setFrom(properties.getFrom());
+            helper.setTo(properties.getRecipients().toArray(new String[0]));
+            helper.setSubject("Reservation " + reservation.getId() + " " + describe(event.getType()));
+            helper.setText("Reservation " + reservation.getId() + " " + describe(event.getType()) + ": car " + reservation.getCarId()
+                    + " in garage " + reservation.getGarageId() + " from " + reservation.getFromDate() + " to " + reservation.getToDate() + ".");
+        } catch (MessagingException e) {
+            throw new MailPreparationException(e);
+        }
+        return message;
+    }
+
+    private static String describe(ReservationEvent.Type type) {
+        switch (type) {
+            case CREATED:
+                return "confirmed";
+            case CANCELLED:
+                return "cancelled";
+            default:
+                return "updated";
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.outbox;
+
+import org.example.configuration.OutboxProperties;
+import org.example.model.dto.OutboxMessageDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(prefix = "garage.outbox", name = "sink", havingValue = "http")
+public class HttpOutboxSink implements OutboxSink {
+    private final RestTemplate restTemplate;
+    private final String url;
+
+    public HttpOutboxSink(RestTemplateBuilder restTemplateBuilder, OutboxProperties properties) {
+        if (properties.getHttp().getUrl() == null) {
+            throw new IllegalStateException("garage.outbox.http.url is needed when garage.outbox.sink=http");
+        }
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(properties.getHttp().getTimeout())
+                .setReadTimeout(properties.getHttp().getTimeout())
+                .build();
+        this.url = properties.getHttp().getUrl();
+    }
+
+    @Override
+    public void publish(List<OutboxMessageDto> messages) {
+        // any non-2xx answer surfaces as a RestClientException and keeps the batch in the outbox
+        restTemplate.postForEntity(url, messages, Void.class);
+    }
+}
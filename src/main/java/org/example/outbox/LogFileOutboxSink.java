@@ -0,0 +1,45 @@
+package org.example.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.configuration.OutboxProperties;
+import org.example.model.dto.OutboxMessageDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "garage.outbox", name = "sink", havingValue = "log", matchIfMissing = true)
+public class LogFileOutboxSink implements OutboxSink {
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(List<OutboxMessageDto> messages) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxMessageDto message : messages) {
+            lines.append(objectMapper.writeValueAsString(message)).append('\n');
+        }
+        Path file = properties.getLogFile();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            // the relay deletes the batch right after this returns, so it has to be on disk by then
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configuration.OutboxProperties;
+import org.example.model.OutboxEvent;
+import org.example.model.dto.OutboxMessageDto;
+import org.example.repository.OutboxEventRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Drains {@code outbox_event} into the configured {@link OutboxSink} every {@code garage.outbox.poll-interval}, oldest
+ * event first, in batches of {@code garage.outbox.batch-size}. Rows are deleted only after the sink accepted the batch,
+ * so a crash or a failing sink means redelivery rather than loss; consumers should de-duplicate on the event id.
+ * <p>
+ * {@code garage.outbox.relayed} counts delivered events, {@code garage.outbox.lag} records how long each one waited in
+ * the outbox and {@code garage.outbox.publish} times the sink calls.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "garage.outbox", name = "enabled", havingValue = "true")
+public class OutboxRelay implements SchedulingConfigurer {
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final OutboxProperties properties;
+    private final Counter relayed;
+    private final Counter failed;
+    private final Timer lag;
+    private final Timer publish;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink sink, OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.properties = properties;
+        String sinkName = properties.getSink().name().toLowerCase();
+        this.relayed = meterRegistry.counter("garage.outbox.relayed", "sink", sinkName);
+        this.failed = meterRegistry.counter("garage.outbox.failed", "sink", sinkName);
+        this.lag = Timer.builder("garage.outbox.lag")
+                .tag("sink", sinkName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.publish = Timer.builder("garage.outbox.publish")
+                .tag("sink", sinkName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        long interval = properties.getPollInterval().toMillis();
+        registrar.addFixedDelayTask(new IntervalTask(this::relay, interval, interval));
+    }
+
+    public int relay() {
+        Pageable batch = PageRequest.of(0, properties.getBatchSize());
+        int total = 0;
+        while (true) {
+            List<OutboxEvent> events = outboxEventRepository.findByOrderByIdAsc(batch);
+            if (events.isEmpty()) {
+                return total;
+            }
+            List<OutboxMessageDto> messages = events.stream().map(OutboxMessageDto::fromEntity).collect(Collectors.toList());
+            try {
+                publish.recordCallable(() -> {
+                    sink.publish(messages);
+                    return null;
+                });
+            } catch (Exception e) {
+                failed.increment(events.size());
+                log.warn("Outbox sink rejected {} events, retrying on the next poll", events.size(), e);
+                return total;
+            }
+            outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).collect(Collectors.toList()));
+
+            Instant now = Instant.now();
+            events.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+            relayed.increment(events.size());
+            total += events.size();
+            if (events.size() < properties.getBatchSize()) {
+                return total;
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.outbox;
+
+import org.example.model.dto.OutboxMessageDto;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay. A batch counts as delivered once {@code publish} returns; any exception leaves the
+ * whole batch in the outbox for the next poll, so sinks see every event at least once and possibly more than once.
+ */
+public interface OutboxSink {
+    void publish(List<OutboxMessageDto> messages) throws Exception;
+}
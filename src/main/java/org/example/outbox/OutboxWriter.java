@@ -0,0 +1,49 @@
+package org.example.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.model.OutboxEvent;
+import org.example.model.event.ReservationEvent;
+import org.example.repository.OutboxEventRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Appends every {@link ReservationEvent} to {@code outbox_event} inside the transaction that produced it, so the
+ * event exists exactly when the reservation change was committed.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "garage.outbox", name = "enabled", havingValue = "true")
+public class OutboxWriter {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(ReservationEvent event) throws JsonProcessingException {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateId(event.getReservation().getId())
+                .eventType(eventType(event.getType()))
+                .payload(objectMapper.writeValueAsString(event.getReservation()))
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    private static String eventType(ReservationEvent.Type type) {
+        switch (type) {
+            case CREATED:
+                return "ReservationCreated";
+            case CANCELLED:
+                return "ReservationDeleted";
+            default:
+                return "ReservationUpdated";
+        }
+    }
+}
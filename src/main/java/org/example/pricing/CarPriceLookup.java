@@ -0,0 +1,114 @@
+package org.example.pricing;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configuration.PricingProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Looks up car prices from the pricing service on a small pool of its own, so callers only ever hold a future.
+ * <p>
+ * Prices are cached for {@code garage.pricing.cache-ttl}. Concurrent lookups of the same car share one in-flight call,
+ * and while the circuit is open lookups complete empty right away. Failed, rejected and unknown lookups are not cached.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "garage.pricing", name = "enabled", havingValue = "true")
+public class CarPriceLookup {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final PricingClient pricingClient;
+    private final CircuitBreaker circuitBreaker;
+    private final ExecutorService executor;
+    private final AsyncLoadingCache<Long, Double> prices;
+    private final Counter succeeded;
+    private final Counter missing;
+    private final Counter failed;
+    private final Counter rejected;
+
+    public CarPriceLookup(PricingClient pricingClient, PricingProperties properties, MeterRegistry meterRegistry) {
+        this.pricingClient = pricingClient;
+        this.circuitBreaker = new CircuitBreaker(properties.getFailureThreshold(), properties.getOpenDuration());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()), task -> {
+            Thread thread = new Thread(task, "car-pricing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.prices = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .executor(executor)
+                .recordStats()
+                .buildAsync(this::fetch);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, prices.synchronous(), "pricing");
+        this.succeeded = meterRegistry.counter("garage.pricing.requests", "outcome", "success");
+        this.missing = meterRegistry.counter("garage.pricing.requests", "outcome", "missing");
+        this.failed = meterRegistry.counter("garage.pricing.requests", "outcome", "failed");
+        this.rejected = meterRegistry.counter("garage.pricing.requests", "outcome", "rejected");
+        Gauge.builder("garage.pricing.circuit.open", circuitBreaker, breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Optional<Double>> price(Long carId) {
+        CompletableFuture<Double> lookup = prices.get(carId);
+        return lookup.thenApply(price -> {
+            if (price == null) {
+                // Caffeine drops empty results on its own, but only after this caller may already have asked again
+                prices.asMap().remove(carId, lookup);
+            }
+            return Optional.ofNullable(price);
+        });
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private Double fetch(Long carId) {
+        if (!circuitBreaker.tryAcquire()) {
+            rejected.increment();
+            return null;
+        }
+        PriceQuote quote;
+        try {
+            quote = pricingClient.getPrice(carId);
+        } catch (FeignException e) {
+            circuitBreaker.onFailure();
+            failed.increment();
+            log.debug("Pricing lookup for car {} failed", carId, e);
+            return null;
+        }
+        circuitBreaker.onSuccess();
+        if (quote == null || quote.getPrice() == null || quote.getPrice() <= 0) {
+            missing.increment();
+            return null;
+        }
+        succeeded.increment();
+        return quote.getPrice();
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.pricing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configuration.PricingProperties;
+import org.example.model.Car;
+import org.example.repository.CarRepository;
+import org.example.service.CarService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Copies prices from the pricing service onto {@link Car#getPrice()} in the background. Car reads never call the
+ * pricing service; they serve whatever price the last refresh stored.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "garage.pricing", name = "enabled", havingValue = "true")
+public class CarPriceRefresher implements SchedulingConfigurer {
+    private final CarPriceLookup priceLookup;
+    private final CarRepository carRepository;
+    private final CarService carService;
+    private final PricingProperties properties;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        long interval = properties.getRefreshInterval().toMillis();
+        registrar.addFixedDelayTask(new IntervalTask(this::refreshQuietly, interval, interval));
+    }
+
+    public int refresh() throws InterruptedException {
+        int updated = 0;
+        Long after = null;
+        while (true) {
+            List<Car> cars = carRepository.findPage(after, null, null, null, null, PageRequest.of(0, properties.getBatchSize()));
+            if (cars.isEmpty()) {
+                return updated;
+            }
+            Map<Long, CompletableFuture<Optional<Double>>> lookups = new LinkedHashMap<>();
+            cars.forEach(car -> lookups.put(car.getId(), priceLookup.price(car.getId())));
+            try {
+                CompletableFuture.allOf(lookups.values().toArray(new CompletableFuture[0]))
+                        .get(properties.getBatchTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Pricing lookups for {} cars did not all complete, keeping current prices for the rest", cars.size());
+            }
+
+            Map<Long, Double> changed = new HashMap<>();
+            for (Car car : cars) {
+                CompletableFuture<Optional<Double>> lookup = lookups.get(car.getId());
+                if (lookup.isDone() && !lookup.isCompletedExceptionally()) {
+                    lookup.join()
+                            .filter(price -> !price.equals(car.getPrice()))
+                            .ifPresent(price -> changed.put(car.getId(), price));
+                }
+            }
+            if (!changed.isEmpty()) {
+                updated += carService.updatePrices(changed);
+            }
+            if (cars.size() < properties.getBatchSize()) {
+                return updated;
+            }
+            after = cars.get(cars.size() - 1).getId();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            int updated = refresh();
+            if (updated > 0) {
+                log.info("Refreshed the price of {} cars", updated);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
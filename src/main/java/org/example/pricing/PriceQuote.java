@@ -0,0 +1,13 @@
+package org.example.pricing;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuote {
+    private Long carId;
+    private Double price;
+}
@@ -0,0 +1,15 @@
+package org.example.pricing;
+
+import feign.Headers;
+import feign.Param;
+import feign.RequestLine;
+
+public interface PricingClient {
+
+    /**
+     * Returns {@code null} when the pricing service does not know the car.
+     */
+    @RequestLine("GET /cars/{id}/price")
+    @Headers("Accept: application/json")
+    PriceQuote getPrice(@Param("id") Long carId);
+}
@@ -0,0 +1,55 @@
+package org.example.pricing;
+
+import feign.Feign;
+import feign.Logger;
+import feign.Request;
+import feign.Retryer;
+import feign.gson.GsonDecoder;
+import feign.slf4j.Slf4jLogger;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.example.configuration.PricingProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(prefix = "garage.pricing", name = "enabled", havingValue = "true")
+public class PricingClientConfig {
+
+    /**
+     * One client, and so one connection pool, for every pricing call; the pool keeps as many idle connections as there
+     * are lookup threads so a refresh run does not reconnect per car.
+     */
+    @Bean
+    public OkHttpClient pricingHttpClient(PricingProperties properties) {
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(Math.max(properties.getMaxIdleConnections(), properties.getConcurrency()),
+                        properties.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+                .connectTimeout(properties.getConnectTimeout())
+                .readTimeout(properties.getReadTimeout())
+                .retryOnConnectionFailure(false)
+                .build();
+    }
+
+    @Bean
+    public PricingClient pricingClient(OkHttpClient pricingHttpClient, PricingProperties properties) {
+        if (!StringUtils.hasText(properties.getUrl())) {
+            throw new IllegalStateException("garage.pricing.url must be set when pricing is enabled");
+        }
+        // retries are left to the next refresh run, the circuit breaker counts every failed call
+        return Feign.builder()
+                .client(new feign.okhttp.OkHttpClient(pricingHttpClient))
+                .decoder(new GsonDecoder())
+                .decode404()
+                .logger(new Slf4jLogger(PricingClient.class))
+                .logLevel(Logger.Level.BASIC)
+                .options(new Request.Options(properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                        properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS, false))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(PricingClient.class, properties.getUrl());
+    }
+}
@@ -1,26 +1,48 @@
 package org.example.repository;
 
 import org.example.model.Car;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
-import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import javax.persistence.LockModeType;
-import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CarRepository extends JpaRepository<Car, Long> {
 
-
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @QueryHints({@QueryHint(name = "javax.persistence.lock.timeout", value ="5000")})
     List<Car> findByDeletedFalse();
 
-
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @QueryHints({@QueryHint(name = "javax.persistence.lock.timeout", value ="5000")})
     Optional<Car> findByIdAndDeletedFalse(Long id);
 
+    List<Car> findByIdInAndDeletedFalse(Collection<Long> ids);
+
+    @Query("SELECT c FROM Car c WHERE c.deleted = false " +
+            "AND (:afterId IS NULL OR c.id > :afterId) " +
+            "AND (:brand IS NULL OR c.brand = :brand) " +
+            "AND (:fuelType IS NULL OR c.fuelType = :fuelType) " +
+            "AND (:minPrice IS NULL OR c.price >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR c.price <= :maxPrice) " +
+            "ORDER BY c.id")
+    List<Car> findPage(@Param("afterId") Long afterId,
+                       @Param("brand") String brand,
+                       @Param("fuelType") String fuelType,
+                       @Param("minPrice") Double minPrice,
+                       @Param("maxPrice") Double maxPrice,
+                       Pageable pageable);
+
+    @Query("SELECT c.id FROM Car c WHERE c.deleted = true AND c.deletedAt < :cutoff " +
+            "AND NOT EXISTS (SELECT r.id FROM Reservation r WHERE r.car = c) " +
+            "ORDER BY c.id")
+    List<Long> findArchivableIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO car_archive (id, brand, fuel_type, model, price, deleted_at, archived_at) " +
+            "SELECT id, brand, fuel_type, model, price, deleted_at, CURRENT_TIMESTAMP FROM car WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids);
 }
 
@@ -0,0 +1,17 @@
+package org.example.repository;
+
+import org.example.model.GarageOccupancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface GarageOccupancyRepository extends JpaRepository<GarageOccupancy, Long> {
+
+    List<GarageOccupancy> findByGarageIdAndDayBetween(Long garageId, LocalDate fromDate, LocalDate toDate);
+
+    List<GarageOccupancy> findByGarageIdInAndDayBetween(Collection<Long> garageIds, LocalDate fromDate, LocalDate toDate);
+
+    List<GarageOccupancy> findByGarageIdAndDayBetweenOrderByDayAsc(Long garageId, LocalDate fromDate, LocalDate toDate);
+}
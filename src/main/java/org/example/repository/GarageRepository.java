@@ -1,22 +1,57 @@
 package org.example.repository;
 
 import org.example.model.Garage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface GarageRepository extends JpaRepository<Garage, Long> {
 
+    List<Garage> findByDeletedFalse();
+
+    List<Garage> findByDeletedFalseAndAcceptsLPGTrue();
+
+    List<Garage> findByIdInAndDeletedFalse(Collection<Long> ids);
+
+    Optional<Garage> findByIdAndDeletedFalse(Long id);
+
+    @Query("SELECT g FROM Garage g WHERE g.deleted = false " +
+            "AND (:afterId IS NULL OR g.id > :afterId) " +
+            "AND (:acceptsLPG IS NULL OR g.acceptsLPG = :acceptsLPG) " +
+            "AND (:minPlaces IS NULL OR g.numberOfPlaces >= :minPlaces) " +
+            "ORDER BY g.id")
+    List<Garage> findPage(@Param("afterId") Long afterId,
+                          @Param("acceptsLPG") Boolean acceptsLPG,
+                          @Param("minPlaces") Integer minPlaces,
+                          Pageable pageable);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @QueryHints({@QueryHint(name = "javax.persistence.lock.timeout", value ="5000")})
-    List<Garage> findByDeletedFalse();
+    Optional<Garage> findLockedByIdAndDeletedFalse(Long id);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @QueryHints({@QueryHint(name = "javax.persistence.lock.timeout", value ="5000")})
-    Optional<Garage> findByIdAndDeletedFalse(Long id);
-}
\ No newline at end of file
+    List<Garage> findLockedByIdInAndDeletedFalseOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT g.id FROM Garage g WHERE g.deleted = true AND g.deletedAt < :cutoff " +
+            "AND NOT EXISTS (SELECT r.id FROM Reservation r WHERE r.garage = g) " +
+            "ORDER BY g.id")
+    List<Long> findArchivableIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO garage_archive (id, acceptslpg, address, number_of_places, deleted_at, archived_at) " +
+            "SELECT id, acceptslpg, address, number_of_places, deleted_at, CURRENT_TIMESTAMP FROM garage WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,12 @@
+package org.example.repository;
+
+import org.example.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByOrderByIdAsc(Pageable pageable);
+}
@@ -0,0 +1,16 @@
+package org.example.repository;
+
+import org.example.model.ReservationHistory;
+import org.example.model.dto.ReservationDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ReservationHistoryRepository extends JpaRepository<ReservationHistory, Long> {
+
+    @Query("SELECT new org.example.model.dto.ReservationDto(h.id, h.carId, h.garageId, h.fromDate, h.toDate, false) " +
+            "FROM ReservationHistory h WHERE h.id = :id")
+    Optional<ReservationDto> findDtoById(@Param("id") Long id);
+}
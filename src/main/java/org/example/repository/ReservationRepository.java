@@ -1,46 +1,124 @@
 package org.example.repository;
 
-import feign.Param;
 import org.example.model.Reservation;
+import org.example.model.dto.ReservationChangeDto;
+import org.example.model.dto.ReservationDto;
+import org.example.model.dto.ReservationPeriod;
+import org.example.model.dto.ReservationSpan;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-import org.springframework.data.jpa.repository.Lock;
-import org.springframework.data.jpa.repository.QueryHints;
-
-
-import javax.persistence.LockModeType;
-import javax.persistence.QueryHint;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+    /**
+     * Reads the foreign key columns directly, so listings never load Car or Garage rows.
+     */
+    String DTO = "new org.example.model.dto.ReservationDto(r.id, r.car.id, r.garage.id, r.fromDate, r.toDate, r.deleted)";
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @QueryHints({@QueryHint(name = "javax.persistence.lock.timeout", value ="5000")})
+    Optional<Reservation> findLockedById(Long id);
+
+    @Query("SELECT r.garage.id FROM Reservation r WHERE r.id = :id")
+    Optional<Long> findGarageIdById(@Param("id") Long id);
+
     @Query("SELECT r FROM Reservation r WHERE r.id IN :ids")
     List<Reservation> findAllByIds(@Param("ids") List<Long> ids);
 
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @QueryHints({@QueryHint(name = "javax.persistence.lock.timeout", value ="5000")})
-    List<Reservation> findByDeletedFalse();
+    @Query("SELECT " + DTO + " FROM Reservation r WHERE r.deleted = false")
+    List<ReservationDto> findDtosByDeletedFalse();
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @QueryHints({@QueryHint(name = "javax.persistence.lock.timeout", value ="5000")})
-    Optional<Reservation> findByIdAndDeletedFalse(Long id);
+    @Query("SELECT " + DTO + " FROM Reservation r WHERE r.id = :id AND r.deleted = false")
+    Optional<ReservationDto> findDtoByIdAndDeletedFalse(@Param("id") Long id);
 
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500")})
+    @Query("SELECT new org.example.model.dto.ReservationSpan(r.garage.id, r.fromDate, r.toDate, COUNT(r)) " +
+            "FROM Reservation r WHERE r.deleted = false GROUP BY r.garage.id, r.fromDate, r.toDate")
+    List<ReservationSpan> findActiveSpans();
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @QueryHints({@QueryHint(name = "javax.persistence.lock.timeout", value ="5000")})
-    @Query("SELECT r FROM Reservation r WHERE r.garage.id = :garageId AND " +
-            "((r.fromDate <= :toDate AND r.toDate >= :fromDate) OR " +
-            "(r.fromDate <= :fromDate AND r.toDate >= :fromDate) OR " +
-            "(r.fromDate <= :toDate AND r.toDate >= :toDate))")
-    List<Reservation> findOverlappingReservations(@Param("fromDate") LocalDate fromDate,
-                                                  @Param("toDate") LocalDate toDate,
-                                                  @Param("garageId") Long garageId);
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500")})
+    @Query("SELECT " + DTO + " FROM Reservation r WHERE r.deleted = false ORDER BY r.id")
+    Stream<ReservationDto> streamDtosByDeletedFalse();
+
+    @Query("SELECT " + DTO + " FROM Reservation r WHERE r.deleted = false " +
+            "AND (:afterId IS NULL OR r.id > :afterId) " +
+            "AND (:garageId IS NULL OR r.garage.id = :garageId) " +
+            "AND (:carId IS NULL OR r.car.id = :carId) " +
+            "AND (:fromDate IS NULL OR r.toDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR r.fromDate <= :toDate) " +
+            "ORDER BY r.id")
+    List<ReservationDto> findPage(@Param("afterId") Long afterId,
+                                  @Param("garageId") Long garageId,
+                                  @Param("carId") Long carId,
+                                  @Param("fromDate") LocalDate fromDate,
+                                  @Param("toDate") LocalDate toDate,
+                                  Pageable pageable);
+
+    @Query("SELECT new org.example.model.dto.ReservationChangeDto(r.changeSeq, r.id, r.car.id, r.garage.id, r.fromDate, r.toDate, r.deleted) " +
+            "FROM Reservation r " +
+            "WHERE r.changeSeq > :after AND r.changeSeq <= :upTo " +
+            "ORDER BY r.changeSeq")
+    List<ReservationChangeDto> findChanges(@Param("after") long after, @Param("upTo") long upTo, Pageable pageable);
+
+    @Query("SELECT MAX(r.changeSeq) FROM Reservation r")
+    Optional<Long> findMaxChangeSeq();
+
+    @Query(value = "SELECT NEXT VALUE FOR reservation_change_seq", nativeQuery = true)
+    long nextChangeSeq();
+
+    @Query(value = "SELECT NEXT VALUE FOR reservation_change_seq FROM SYSTEM_RANGE(1, :count)", nativeQuery = true)
+    List<Long> nextChangeSeqs(@Param("count") int count);
+
+    @Query("SELECT " + DTO + " FROM Reservation r WHERE r.deleted = false AND r.toDate < :cutoff ORDER BY r.id")
+    List<ReservationDto> findRetirable(@Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO reservation_history (id, from_date, to_date, car_id, garage_id, change_seq, retired_at) " +
+            "SELECT id, from_date, to_date, car_id, garage_id, change_seq, CURRENT_TIMESTAMP FROM reservation WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyToHistory(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.id FROM Reservation r WHERE r.deleted = true AND r.deletedAt < :cutoff ORDER BY r.id")
+    List<Long> findArchivableIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO reservation_archive (id, from_date, to_date, car_id, garage_id, change_seq, deleted_at, archived_at) " +
+            "SELECT id, from_date, to_date, car_id, garage_id, change_seq, deleted_at, CURRENT_TIMESTAMP FROM reservation WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+
+
+    @Query("SELECT COUNT(r) FROM Reservation r WHERE r.garage.id = :garageId AND r.deleted = false " +
+            "AND r.fromDate <= :toDate AND r.toDate >= :fromDate " +
+            "AND (:excludedId IS NULL OR r.id <> :excludedId)")
+    long countOverlappingReservations(@Param("fromDate") LocalDate fromDate,
+                                      @Param("toDate") LocalDate toDate,
+                                      @Param("garageId") Long garageId,
+                                      @Param("excludedId") Long excludedId);
+
+    @Query("SELECT new org.example.model.dto.ReservationPeriod(r.fromDate, r.toDate) FROM Reservation r " +
+            "WHERE r.garage.id = :garageId AND r.deleted = false " +
+            "AND r.fromDate <= :toDate AND r.toDate >= :fromDate " +
+            "AND (:excludedId IS NULL OR r.id <> :excludedId)")
+    List<ReservationPeriod> findOverlappingPeriods(@Param("fromDate") LocalDate fromDate,
+                                                   @Param("toDate") LocalDate toDate,
+                                                   @Param("garageId") Long garageId,
+                                                   @Param("excludedId") Long excludedId);
 }
@@ -0,0 +1,60 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.example.diagnostics.RequestDiagnostics;
+import org.example.exceptions.CarNotFoundException;
+import org.example.exceptions.GarageNotFoundException;
+import org.example.exceptions.LpgNotAllowedException;
+import org.example.exceptions.NoFreePlacesException;
+import org.example.exceptions.ReservationNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class BookingMetrics {
+    private final MeterRegistry meterRegistry;
+
+    public void rejected(RuntimeException e) {
+        meterRegistry.counter("garage.booking.rejections", "reason", reason(e)).increment();
+    }
+
+    public static final String SINGLE = "single";
+    public static final String BATCH = "batch";
+
+    /**
+     * Times taking the garage and reservation row locks of one booking change ({@link #SINGLE}) or the garage row locks
+     * of a whole batch ({@link #BATCH}).
+     */
+    public <T> T timeLockWait(String operation, Supplier<T> lock) {
+        long start = System.nanoTime();
+        try {
+            return lock.get();
+        } finally {
+            long waited = System.nanoTime() - start;
+            RequestDiagnostics.lockWaited(waited);
+            Timer.builder("garage.booking.lock.wait")
+                    .tag("mode", "pessimistic")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(waited, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String reason(RuntimeException e) {
+        if (e instanceof LpgNotAllowedException) {
+            return "lpg";
+        }
+        if (e instanceof NoFreePlacesException) {
+            return "no_capacity";
+        }
+        if (e instanceof CarNotFoundException || e instanceof GarageNotFoundException || e instanceof ReservationNotFoundException) {
+            return "not_found";
+        }
+        return "other";
+    }
+}
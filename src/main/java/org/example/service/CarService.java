@@ -4,9 +4,14 @@ import org.example.model.Car;
 import org.example.model.command.CreateCarCommand;
 import org.example.model.command.UpdateCarCommand;
 import org.example.model.dto.CarDto;
+import org.example.model.dto.CarSnapshot;
+import org.example.model.dto.KeysetPage;
+import org.example.model.filter.CarFilter;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CarService {
@@ -18,10 +23,19 @@ public interface CarService {
     @Transactional(readOnly = true)
     List<CarDto> getAllCars();
 
-    Optional<Car> findCarById(Long id);
+    @Transactional(readOnly = true)
+    KeysetPage<CarDto> getCars(CarFilter filter, Long after, Integer size);
+
+    Optional<CarSnapshot> findCarById(Long id);
+
+    Car getCarReference(Long id);
+
+    List<Car> findCarsByIds(Collection<Long> ids);
 
     CarDto updateCar(Long id, UpdateCarCommand command);
 
     void deleteCar(Long id);
 
+    int updatePrices(Map<Long, Double> prices);
+
 }
@@ -1,27 +1,41 @@
 package org.example.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.example.configuration.CacheConfig;
+import org.example.configuration.PaginationProperties;
 import org.example.mapper.CarMapper;
 import org.example.repository.CarRepository;
 import org.example.service.CarService;
 import org.example.model.Car;
 import org.example.model.dto.CarDto;
+import org.example.model.dto.CarSnapshot;
+import org.example.model.dto.KeysetPage;
+import org.example.model.filter.CarFilter;
 import org.example.model.command.CreateCarCommand;
 import org.example.model.command.UpdateCarCommand;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 @Service
 @Transactional
 @RequiredArgsConstructor
+@Timed(value = "garage.service", histogram = true)
 public class CarServiceImpl implements CarService {
     private final CarRepository carRepository;
     private final CarMapper carMapper;
+    private final PaginationProperties paginationProperties;
 
     @Override
     public CarDto save(CreateCarCommand command) {
@@ -41,19 +55,41 @@ public class CarServiceImpl implements CarService {
     @Override
     @Transactional(readOnly = true)
     public List<CarDto> getAllCars() {
-        return carRepository.findAll().stream()
+        return carRepository.findByDeletedFalse().stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<CarDto> getCars(CarFilter filter, Long after, Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        List<Car> cars = carRepository.findPage(after, filter.getBrand(), filter.getFuelType(),
+                filter.getMinPrice(), filter.getMaxPrice(), PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(cars, pageSize, Car::getId, this::mapToDto);
+    }
+
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CARS, key = "#id", unless = "#result == null")
+    public Optional<CarSnapshot> findCarById(Long id) {
+        return carRepository.findByIdAndDeletedFalse(id)
+                .map(CarSnapshot::fromEntity);
+    }
+
+    @Override
+    public Car getCarReference(Long id) {
+        return carRepository.getReferenceById(id);
+    }
 
     @Override
-    public Optional<Car> findCarById(Long id) {
-        return carRepository.findByIdAndDeletedFalse(id);
+    public List<Car> findCarsByIds(Collection<Long> ids) {
+        return carRepository.findByIdInAndDeletedFalse(ids);
     }
 
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CARS, key = "#id")
     public CarDto updateCar(Long id, UpdateCarCommand command) {
         Car cartoUpdate = carRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(MessageFormat.format("Car with id={0} has not found", id)));
@@ -62,13 +98,23 @@ public class CarServiceImpl implements CarService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CARS, key = "#id")
     public void deleteCar(Long id) {
         Car car = carRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(MessageFormat.format("Car with id={0} has not found", id)));
         car.setDeleted(true);
+        car.setDeletedAt(Instant.now());
         carRepository.save(car);
     }
 
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.CARS, allEntries = true)
+    public int updatePrices(Map<Long, Double> prices) {
+        List<Car> cars = carRepository.findByIdInAndDeletedFalse(prices.keySet());
+        cars.forEach(car -> car.setPrice(prices.get(car.getId())));
+        return cars.size();
+    }
+
 
     private CarDto mapToDto(Car car) {
         return CarDto.builder()
@@ -0,0 +1,85 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configuration.ArchivalProperties;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.ReservationRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Moves soft-deleted rows whose retention has expired into the {@code *_archive} tables, one batch per transaction so
+ * the job never holds locks on more than {@code garage.archival.batch-size} hot rows at a time.
+ * <p>
+ * Reservations go first; a deleted car or garage is only archived once no reservation in the hot table refers to it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "garage.archival", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeletedRowArchiver implements SchedulingConfigurer {
+    private final ReservationRepository reservationRepository;
+    private final CarRepository carRepository;
+    private final GarageRepository garageRepository;
+    private final ArchivalProperties properties;
+    private final TransactionOperations transactionOperations;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        long interval = properties.getInterval().toMillis();
+        registrar.addFixedDelayTask(new IntervalTask(this::archive, interval, interval));
+    }
+
+    public void archive() {
+        int archived = archiveDeletedBefore(Instant.now().minus(properties.getRetention()));
+        if (archived > 0) {
+            log.info("Archived {} soft-deleted rows", archived);
+        }
+    }
+
+    public int archiveDeletedBefore(Instant cutoff) {
+        return archive(cutoff, reservationRepository::findArchivableIds, reservationRepository::copyToArchive,
+                reservationRepository::deleteAllByIdInBatch)
+                + archive(cutoff, carRepository::findArchivableIds, carRepository::copyToArchive,
+                carRepository::deleteAllByIdInBatch)
+                + archive(cutoff, garageRepository::findArchivableIds, garageRepository::copyToArchive,
+                garageRepository::deleteAllByIdInBatch);
+    }
+
+    private int archive(Instant cutoff,
+                        BiFunction<Instant, Pageable, List<Long>> findIds,
+                        ToIntFunction<Collection<Long>> copy,
+                        Consumer<Iterable<Long>> delete) {
+        Pageable batch = PageRequest.of(0, properties.getBatchSize());
+        int archived = 0;
+        while (true) {
+            Integer moved = transactionOperations.execute(status -> {
+                List<Long> ids = findIds.apply(cutoff, batch);
+                if (!ids.isEmpty()) {
+                    copy.applyAsInt(ids);
+                    delete.accept(ids);
+                }
+                return ids.size();
+            });
+            archived += moved;
+            if (moved < properties.getBatchSize()) {
+                return archived;
+            }
+        }
+    }
+}
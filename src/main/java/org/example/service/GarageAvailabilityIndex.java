@@ -0,0 +1,119 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.Garage;
+import org.example.model.Reservation;
+import org.example.model.dto.ReservationSpan;
+import org.example.model.dto.ReservationPeriod;
+import org.example.repository.ReservationRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class GarageAvailabilityIndex implements SmartInitializingSingleton {
+    private final ReservationRepository reservationRepository;
+
+    private volatile Map<Long, OccupancyTimeline> timelines = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        Map<Long, OccupancyTimeline> rebuilt = new ConcurrentHashMap<>();
+        // identical date ranges of a garage arrive as one row, so a restart replays far fewer updates than reservations
+        for (ReservationSpan span : reservationRepository.findActiveSpans()) {
+            rebuilt.computeIfAbsent(span.getGarageId(), garageId -> new OccupancyTimeline())
+                    .add(span.getFromDate(), span.getToDate(), (int) span.getCount());
+        }
+        timelines = rebuilt;
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int peakOccupancy(Long garageId, LocalDate fromDate, LocalDate toDate) {
+        OccupancyTimeline timeline = timelines.get(garageId);
+        if (timeline == null) {
+            return 0;
+        }
+        synchronized (timeline) {
+            return timeline.peak(fromDate, toDate);
+        }
+    }
+
+    public LocalDate earliestFree(Garage garage, LocalDate fromDate, LocalDate lastStart, int days) {
+        OccupancyTimeline timeline = timelines.get(garage.getId());
+        if (timeline == null) {
+            return new OccupancyTimeline().earliestFree(fromDate, lastStart, days, garage.getNumberOfPlaces());
+        }
+        synchronized (timeline) {
+            return timeline.earliestFree(fromDate, lastStart, days, garage.getNumberOfPlaces());
+        }
+    }
+
+    public void book(Long garageId, LocalDate fromDate, LocalDate toDate) {
+        apply(garageId, fromDate, toDate, 1);
+        onRollback(() -> apply(garageId, fromDate, toDate, -1));
+    }
+
+    public void release(Long garageId, LocalDate fromDate, LocalDate toDate) {
+        apply(garageId, fromDate, toDate, -1);
+        onRollback(() -> apply(garageId, fromDate, toDate, 1));
+    }
+
+    static int peakOccupancy(Collection<ReservationPeriod> reservations, LocalDate fromDate, LocalDate toDate) {
+        if (reservations.isEmpty()) {
+            return 0;
+        }
+        OccupancyTimeline timeline = new OccupancyTimeline();
+        for (ReservationPeriod reservation : reservations) {
+            timeline.add(reservation.getFromDate(), reservation.getToDate(), 1);
+        }
+        return timeline.peak(fromDate, toDate);
+    }
+
+    static LocalDate earliestFree(Collection<ReservationPeriod> reservations, Garage garage, LocalDate fromDate, LocalDate lastStart, int days) {
+        OccupancyTimeline timeline = new OccupancyTimeline();
+        for (ReservationPeriod reservation : reservations) {
+            timeline.add(reservation.getFromDate(), reservation.getToDate(), 1);
+        }
+        return timeline.earliestFree(fromDate, lastStart, days, garage.getNumberOfPlaces());
+    }
+
+    private void apply(Long garageId, LocalDate fromDate, LocalDate toDate, int delta) {
+        if (!ready) {
+            return;
+        }
+        OccupancyTimeline timeline = timelines.computeIfAbsent(garageId, id -> new OccupancyTimeline());
+        synchronized (timeline) {
+            timeline.add(fromDate, toDate, delta);
+        }
+    }
+
+    private void onRollback(Runnable undo) {
+        if (!ready || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    undo.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.exceptions.NoFreePlacesException;
+import org.example.model.GarageOccupancy;
+import org.example.model.dto.GarageSnapshot;
+import org.example.repository.GarageOccupancyRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one versioned row per garage and booked day. Concurrent bookings of the same day update the
+ * same row, so the loser fails on flush with an optimistic locking or unique key violation instead of
+ * overbooking the garage. In pessimistic and striped mode every change of a garage holds its row lock or
+ * stripe before it gets here, so the counters never add conflicts on top of that lock.
+ */
+@Component
+@RequiredArgsConstructor
+public class GarageOccupancyCounter {
+    private final GarageOccupancyRepository occupancyRepository;
+
+    public void reserve(GarageSnapshot garage, LocalDate fromDate, LocalDate toDate) {
+        Batch batch = batch(Collections.singleton(garage.getId()), fromDate, toDate);
+        batch.reserve(garage, fromDate, toDate);
+        batch.flush();
+    }
+
+    /**
+     * Loads the counters of {@code garageIds} between {@code fromDate} and {@code toDate} once, so the bookings of a
+     * whole batch are checked in memory and written together by {@link Batch#flush()}.
+     */
+    public Batch batch(Collection<Long> garageIds, LocalDate fromDate, LocalDate toDate) {
+        if (garageIds.isEmpty() || fromDate == null || toDate == null || toDate.isBefore(fromDate)) {
+            return new Batch(Collections.emptyMap());
+        }
+        return new Batch(occupancyRepository.findByGarageIdInAndDayBetween(garageIds, fromDate, toDate).stream()
+                .collect(Collectors.groupingBy(GarageOccupancy::getGarageId,
+                        Collectors.toMap(GarageOccupancy::getDay, Function.identity()))));
+    }
+
+    public void release(Long garageId, LocalDate fromDate, LocalDate toDate) {
+        List<GarageOccupancy> changed = new ArrayList<>();
+        for (GarageOccupancy occupancy : occupancyRepository.findByGarageIdAndDayBetween(garageId, fromDate, toDate)) {
+            if (occupancy.getBooked() > 0) {
+                occupancy.setBooked(occupancy.getBooked() - 1);
+                changed.add(occupancy);
+            }
+        }
+        occupancyRepository.saveAllAndFlush(changed);
+    }
+
+    /**
+     * Bookings added so far on top of the loaded counters. The managed rows are only touched by {@link #flush()}, so a
+     * rejected booking leaves nothing behind even when its transaction commits the rest of the batch.
+     */
+    public class Batch {
+        private final Map<Long, Map<LocalDate, GarageOccupancy>> occupancies;
+        private final Map<Long, NavigableMap<LocalDate, Integer>> added = new TreeMap<>();
+
+        private Batch(Map<Long, Map<LocalDate, GarageOccupancy>> occupancies) {
+            this.occupancies = occupancies;
+        }
+
+        public void reserve(GarageSnapshot garage, LocalDate fromDate, LocalDate toDate) {
+            Map<LocalDate, GarageOccupancy> rows = occupancies.getOrDefault(garage.getId(), Collections.emptyMap());
+            NavigableMap<LocalDate, Integer> garageAdded = added.computeIfAbsent(garage.getId(), id -> new TreeMap<>());
+            for (LocalDate day = fromDate; !day.isAfter(toDate); day = day.plusDays(1)) {
+                GarageOccupancy occupancy = rows.get(day);
+                int booked = (occupancy == null ? 0 : occupancy.getBooked()) + garageAdded.getOrDefault(day, 0);
+                if (booked >= garage.getNumberOfPlaces()) {
+                    throw new NoFreePlacesException("there is no free places for these dates");
+                }
+            }
+            for (LocalDate day = fromDate; !day.isAfter(toDate); day = day.plusDays(1)) {
+                garageAdded.merge(day, 1, Integer::sum);
+            }
+        }
+
+        public void flush() {
+            List<GarageOccupancy> changed = new ArrayList<>();
+            added.forEach((garageId, days) -> {
+                Map<LocalDate, GarageOccupancy> rows = occupancies.getOrDefault(garageId, Collections.emptyMap());
+                days.forEach((day, count) -> {
+                    GarageOccupancy occupancy = rows.get(day);
+                    if (occupancy == null) {
+                        occupancy = GarageOccupancy.builder().garageId(garageId).day(day).build();
+                    }
+                    occupancy.setBooked(occupancy.getBooked() + count);
+                    changed.add(occupancy);
+                });
+            });
+            added.clear();
+            occupancyRepository.saveAllAndFlush(changed);
+        }
+    }
+}
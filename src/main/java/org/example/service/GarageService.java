@@ -3,9 +3,16 @@ package org.example.service;
 import org.example.model.Garage;
 import org.example.model.command.CreateGarageCommand;
 import org.example.model.command.UpdateGarageCommand;
+import org.example.model.dto.CarSnapshot;
 import org.example.model.dto.GarageDto;
+import org.example.model.dto.GarageOccupancyDto;
+import org.example.model.dto.GarageSnapshot;
+import org.example.model.dto.KeysetPage;
+import org.example.model.filter.GarageFilter;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,10 +22,26 @@ public interface GarageService {
     @Transactional(readOnly = true)
     List<GarageDto> getAllGarages();
 
+    @Transactional(readOnly = true)
+    KeysetPage<GarageDto> getGarages(GarageFilter filter, Long after, Integer size);
+
     @Transactional(readOnly = true)
     Optional<GarageDto> getGarageById(Long id);
 
-    Optional<Garage> findGarageById(Long id);
+    @Transactional(readOnly = true)
+    Optional<GarageOccupancyDto> getOccupancy(Long id, LocalDate from, LocalDate to);
+
+    Optional<GarageSnapshot> findGarageById(Long id);
+
+    Garage getGarageReference(Long id);
+
+    List<Garage> findGaragesByIds(Collection<Long> ids);
+
+    Optional<Garage> lockGarageById(Long id);
+
+    List<Garage> lockGaragesByIds(Collection<Long> ids);
+
+    List<Garage> findGaragesFor(CarSnapshot car);
 
     void deleteGarage(Long id);
 
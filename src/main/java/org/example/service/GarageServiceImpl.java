@@ -1,17 +1,37 @@
 package org.example.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.example.configuration.CacheConfig;
+import org.example.configuration.PaginationProperties;
+import org.example.model.GarageOccupancy;
+import org.example.repository.GarageOccupancyRepository;
 import org.example.repository.GarageRepository;
 import org.example.service.GarageService;
 import org.example.model.Garage;
 import org.example.model.command.CreateGarageCommand;
 import org.example.model.command.UpdateGarageCommand;
+import org.example.model.dto.CarSnapshot;
 import org.example.model.dto.GarageDto;
+import org.example.model.dto.GarageOccupancyDto;
+import org.example.model.dto.GarageSnapshot;
+import org.example.model.dto.KeysetPage;
+import org.example.model.dto.OccupancyDayDto;
+import org.example.model.filter.GarageFilter;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.text.MessageFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -19,8 +39,13 @@ import java.util.stream.Collectors;
 @Service
 @Transactional
 @RequiredArgsConstructor
+@Timed(value = "garage.service", histogram = true)
 public class GarageServiceImpl implements GarageService {
+    private static final long MAX_OCCUPANCY_DAYS = 366;
+
     private final GarageRepository garageRepository;
+    private final GarageOccupancyRepository occupancyRepository;
+    private final PaginationProperties paginationProperties;
 
     @Override
     public GarageDto save(CreateGarageCommand command) {
@@ -38,6 +63,15 @@ public class GarageServiceImpl implements GarageService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<GarageDto> getGarages(GarageFilter filter, Long after, Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        List<Garage> garages = garageRepository.findPage(after, filter.getAcceptsLPG(), filter.getMinPlaces(),
+                PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(garages, pageSize, Garage::getId, this::mapToDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<GarageDto> getGarageById(Long id) {
@@ -45,17 +79,85 @@ public class GarageServiceImpl implements GarageService {
                 .map(this::mapToDto);
     }
 
+    /**
+     * Reads the calendar from the per-day counters maintained by {@link GarageOccupancyCounter}, so the cost is one
+     * range scan over {@code uk_garage_occupancy_day} no matter how many reservations overlap the window. Days without
+     * a counter row have nothing booked.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<GarageOccupancyDto> getOccupancy(Long id, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new RuntimeException("from and to are highly needed!");
+        }
+        if (to.isBefore(from)) {
+            throw new RuntimeException("to can not be before from");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_OCCUPANCY_DAYS) {
+            throw new RuntimeException("occupancy can be requested for at most " + MAX_OCCUPANCY_DAYS + " days");
+        }
+        return garageRepository.findByIdAndDeletedFalse(id)
+                .map(garage -> {
+                    Iterator<GarageOccupancy> counters = occupancyRepository
+                            .findByGarageIdAndDayBetweenOrderByDayAsc(id, from, to).iterator();
+                    GarageOccupancy next = counters.hasNext() ? counters.next() : null;
+                    List<OccupancyDayDto> days = new ArrayList<>();
+                    for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                        int booked = 0;
+                        if (next != null && next.getDay().equals(day)) {
+                            booked = next.getBooked();
+                            next = counters.hasNext() ? counters.next() : null;
+                        }
+                        days.add(new OccupancyDayDto(day, booked, Math.max(garage.getNumberOfPlaces() - booked, 0)));
+                    }
+                    return new GarageOccupancyDto(garage.getId(), garage.getNumberOfPlaces(), days);
+                });
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.GARAGES, key = "#id", unless = "#result == null")
+    public Optional<GarageSnapshot> findGarageById(Long id) {
+        return garageRepository.findByIdAndDeletedFalse(id)
+                .map(GarageSnapshot::fromEntity);
+    }
+
     @Override
-    public Optional<Garage> findGarageById(Long id) {
-        return garageRepository.findById(id);
+    public Garage getGarageReference(Long id) {
+        return garageRepository.getReferenceById(id);
+    }
+
+    @Override
+    public List<Garage> findGaragesByIds(Collection<Long> ids) {
+        return garageRepository.findByIdInAndDeletedFalse(ids);
+    }
+
+    @Override
+    public Optional<Garage> lockGarageById(Long id) {
+        return garageRepository.findLockedByIdAndDeletedFalse(id);
+    }
+
+    @Override
+    public List<Garage> lockGaragesByIds(Collection<Long> ids) {
+        return garageRepository.findLockedByIdInAndDeletedFalseOrderByIdAsc(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Garage> findGaragesFor(CarSnapshot car) {
+        if (car.getFuelType().equals("LPG")) {
+            return garageRepository.findByDeletedFalseAndAcceptsLPGTrue();
+        }
+        return garageRepository.findByDeletedFalse();
     }
 
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.GARAGES, key = "#id")
     public void deleteGarage(Long id) {
         Garage garage = garageRepository.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new EntityNotFoundException(MessageFormat.format("Garage with id={0} has not found", id)));
         garage.setDeleted(true);
+        garage.setDeletedAt(Instant.now());
         garageRepository.save(garage);
     }
 
@@ -70,6 +172,7 @@ public class GarageServiceImpl implements GarageService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.GARAGES, key = "#id")
     public GarageDto updateGarage(Long id, UpdateGarageCommand command) {
         Garage garage = garageRepository.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new EntityNotFoundException(MessageFormat.format("Garage with id={0} has not found", id)));
@@ -0,0 +1,80 @@
+package org.example.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Step function of booked places per day for a single garage. Each key starts a segment that lasts
+ * until the next key; days before the first key and after the last one are free.
+ */
+class OccupancyTimeline {
+    private final TreeMap<LocalDate, Integer> segments = new TreeMap<>();
+
+    void add(LocalDate fromDate, LocalDate toDate, int delta) {
+        LocalDate end = toDate.plusDays(1);
+        split(fromDate);
+        split(end);
+        for (Map.Entry<LocalDate, Integer> segment : segments.subMap(fromDate, true, end, false).entrySet()) {
+            segment.setValue(segment.getValue() + delta);
+        }
+        coalesce(fromDate);
+        coalesce(end);
+    }
+
+    int peak(LocalDate fromDate, LocalDate toDate) {
+        Map.Entry<LocalDate, Integer> first = segments.floorEntry(fromDate);
+        int peak = first == null ? 0 : first.getValue();
+        for (int booked : segments.subMap(fromDate, false, toDate, true).values()) {
+            peak = Math.max(peak, booked);
+        }
+        return peak;
+    }
+
+    /**
+     * Earliest day in [fromDate, lastStart] that starts {@code days} consecutive days with fewer than
+     * {@code capacity} booked places, or null when there is none. Walks the segments once.
+     */
+    LocalDate earliestFree(LocalDate fromDate, LocalDate lastStart, int days, int capacity) {
+        if (capacity <= 0) {
+            return null;
+        }
+        Map.Entry<LocalDate, Integer> floor = segments.floorEntry(fromDate);
+        int booked = floor == null ? 0 : floor.getValue();
+        LocalDate candidate = fromDate;
+        for (Map.Entry<LocalDate, Integer> next : segments.tailMap(fromDate, false).entrySet()) {
+            if (candidate.isAfter(lastStart)) {
+                return null;
+            }
+            if (booked >= capacity) {
+                candidate = next.getKey();
+            } else if (!candidate.plusDays(days).isAfter(next.getKey())) {
+                return candidate;
+            }
+            booked = next.getValue();
+        }
+        return booked < capacity && !candidate.isAfter(lastStart) ? candidate : null;
+    }
+
+    boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    private void split(LocalDate day) {
+        if (!segments.containsKey(day)) {
+            Map.Entry<LocalDate, Integer> floor = segments.floorEntry(day);
+            segments.put(day, floor == null ? 0 : floor.getValue());
+        }
+    }
+
+    private void coalesce(LocalDate day) {
+        Integer booked = segments.get(day);
+        if (booked == null) {
+            return;
+        }
+        Map.Entry<LocalDate, Integer> previous = segments.lowerEntry(day);
+        if ((previous == null ? 0 : previous.getValue()) == booked) {
+            segments.remove(day);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.repository.ReservationRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out the {@code change_seq} stamped on every reservation write and tells the change feed how far it may read.
+ * <p>
+ * Sequence values are taken when a transaction starts writing, but become visible in commit order, so a reader that
+ * simply took everything above its cursor could step over a value whose transaction commits later. The feed therefore
+ * stops below the oldest sequence still in flight; everything at or below {@link #committedUpTo()} is final.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationChangeSequence implements SmartInitializingSingleton {
+    private final ReservationRepository reservationRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private long lastAllocated;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long persisted = reservationRepository.findMaxChangeSeq().orElse(0L);
+        lock.lock();
+        try {
+            lastAllocated = Math.max(lastAllocated, persisted);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long next() {
+        lock.lock();
+        try {
+            long sequence = reservationRepository.nextChangeSeq();
+            track(sequence, sequence);
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Allocates {@code count} sequence values in one round trip, for a batch that stamps all its rows in one
+     * transaction.
+     */
+    public List<Long> next(int count) {
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        lock.lock();
+        try {
+            List<Long> sequences = reservationRepository.nextChangeSeqs(count);
+            track(Collections.min(sequences), Collections.max(sequences));
+            return sequences;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // every value of a block is at least its lowest one, so holding that one back keeps the whole block out of the feed
+    private void track(long lowest, long highest) {
+        lastAllocated = Math.max(lastAllocated, highest);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.add(lowest);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    complete(lowest);
+                }
+            });
+        }
+    }
+
+    public long committedUpTo() {
+        lock.lock();
+        try {
+            return inFlight.isEmpty() ? lastAllocated : inFlight.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void complete(long sequence) {
+        lock.lock();
+        try {
+            inFlight.remove(sequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.configuration.HistoryProperties;
+import org.example.model.Reservation;
+import org.example.model.dto.ReservationDto;
+import org.example.repository.ReservationRepository;
+import org.example.tracking.ChangeTracker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Rolls bookings that have ended over into {@code reservation_history}, so {@code reservation} only holds current and
+ * future bookings and the overlap queries, listings and the availability index never wade through the past.
+ * <p>
+ * Each batch is copied, deleted and released from the availability index in one transaction. The per-day counters in
+ * {@code garage_occupancy} are left alone, so the occupancy calendar still covers retired days.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "garage.history", name = "enabled", havingValue = "true")
+public class ReservationRetirer implements SchedulingConfigurer {
+    private final ReservationRepository reservationRepository;
+    private final GarageAvailabilityIndex availabilityIndex;
+    private final ChangeTracker changeTracker;
+    private final HistoryProperties properties;
+    private final TransactionOperations transactionOperations;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        long interval = properties.getInterval().toMillis();
+        registrar.addFixedDelayTask(new IntervalTask(this::retire, interval, interval));
+    }
+
+    public void retire() {
+        int retired = retireEndedBefore(LocalDate.now().minus(properties.getGracePeriod()));
+        if (retired > 0) {
+            log.info("Moved {} past reservations to history", retired);
+        }
+    }
+
+    public int retireEndedBefore(LocalDate cutoff) {
+        Pageable batch = PageRequest.of(0, properties.getBatchSize());
+        int retired = 0;
+        while (true) {
+            Integer moved = transactionOperations.execute(status -> {
+                List<ReservationDto> reservations = reservationRepository.findRetirable(cutoff, batch);
+                if (!reservations.isEmpty()) {
+                    List<Long> ids = reservations.stream().map(ReservationDto::getId).collect(Collectors.toList());
+                    reservationRepository.copyToHistory(ids);
+                    reservationRepository.deleteAllByIdInBatch(ids);
+                    reservations.forEach(r -> availabilityIndex.release(r.getGarageId(), r.getFromDate(), r.getToDate()));
+                    changeTracker.changed(Reservation.class);
+                }
+                return reservations.size();
+            });
+            retired += moved;
+            if (moved < properties.getBatchSize()) {
+                return retired;
+            }
+        }
+    }
+}
@@ -2,18 +2,33 @@ package org.example.service;
 
 import org.example.model.Garage;
 import org.example.model.Reservation;
+import org.example.model.dto.FreeSlotDto;
+import org.example.model.dto.KeysetPage;
+import org.example.model.dto.ReservationBatchResultDto;
+import org.example.model.dto.ReservationChangeDto;
 import org.example.model.dto.ReservationDto;
 import org.example.model.command.CreateReservationCommand;
 import org.example.model.command.UpdateReservationCommand;
+import org.example.model.filter.FreeSlotQuery;
+import org.example.model.filter.ReservationFilter;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ReservationService {
     ReservationDto save(CreateReservationCommand command);
 
+    ReservationBatchResultDto saveAll(List<CreateReservationCommand> commands);
+
     List<ReservationDto> getAllReservations();
 
+    KeysetPage<ReservationDto> getReservations(ReservationFilter filter, Long after, Integer size);
+
+    KeysetPage<ReservationChangeDto> getChanges(Long after, Integer size);
+
+    void exportReservations(Consumer<ReservationDto> consumer);
+
     Optional<ReservationDto> getReservationById(Long id);
 
     ReservationDto updateReservation(Long id, UpdateReservationCommand command);
@@ -22,6 +37,8 @@ public interface ReservationService {
 
     void deleteReservation(Long id);
 
+    List<FreeSlotDto> findFreeSlots(FreeSlotQuery query);
+
     boolean
     checkIfReservationIsFree(CreateReservationCommand command);
 }
@@ -1,59 +1,236 @@
 package org.example.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.example.configuration.BookingProperties;
+import org.example.configuration.PaginationProperties;
 import org.example.model.Car;
 import org.example.exceptions.CarNotFoundException;
 import org.example.exceptions.GarageNotFoundException;
+import org.example.exceptions.LpgNotAllowedException;
+import org.example.exceptions.NoFreePlacesException;
 import org.example.exceptions.ReservationNotFoundException;
 import org.example.model.Garage;
+import org.example.repository.ReservationHistoryRepository;
 import org.example.repository.ReservationRepository;
 import org.example.model.Reservation;
 import org.example.model.command.CreateReservationCommand;
 import org.example.model.command.UpdateReservationCommand;
+import org.example.model.filter.FreeSlotQuery;
+import org.example.model.filter.ReservationFilter;
+import org.example.model.dto.CarSnapshot;
+import org.example.model.dto.FreeSlotDto;
+import org.example.model.dto.GarageSnapshot;
+import org.example.model.dto.KeysetPage;
+import org.example.model.dto.ReservationBatchItemDto;
+import org.example.model.dto.ReservationBatchResultDto;
+import org.example.model.dto.ReservationChangeDto;
 import org.example.model.dto.ReservationDto;
+import org.example.model.dto.ReservationPeriod;
+import org.example.model.event.ReservationEvent;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.List;
-import java.util.Optional;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
+@Timed(value = "garage.service", histogram = true)
 public class ReservationServiceImpl implements ReservationService {
     private final ReservationRepository reservationRepository;
+    private final ReservationHistoryRepository historyRepository;
     private final CarService carService;
     private final GarageService garageService;
+    private final GarageAvailabilityIndex availabilityIndex;
+    private final GarageOccupancyCounter occupancyCounter;
+    private final ReservationChangeSequence changeSequence;
+    private final GarageLockManager lockManager;
+    private final BookingMetrics bookingMetrics;
+    private final PaginationProperties paginationProperties;
+    private final BookingProperties bookingProperties;
+    private final TransactionOperations transactionOperations;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ReservationDto save(@NotNull CreateReservationCommand command) {
-        Garage garage = garageService.findGarageById(command.getGarageId()).orElseThrow(() -> new GarageNotFoundException("Garage not found"));
+        try {
+            if (bookingProperties.getMode() == BookingProperties.Mode.STRIPED) {
+                return lockManager.withLocks(Collections.singleton(command.getGarageId()),
+                        () -> withRetry(() -> saveBooking(command, false)));
+            }
+            return withRetry(() -> saveBooking(command, lockGarageRows()));
+        } catch (RuntimeException e) {
+            bookingMetrics.rejected(e);
+            throw e;
+        }
+    }
 
-        Car car = carService.findCarById(command.getCarId()).orElseThrow(() -> new CarNotFoundException("Car not found"));
+    /**
+     * Runs one booking change in its own transaction and repeats it when a concurrent change of the same occupancy rows
+     * won, unless the change joined a caller's transaction that can no longer be repeated.
+     */
+    private <T> T withRetry(Supplier<T> change) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionOperations.execute(status -> change.get());
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (attempt >= bookingProperties.getMaxAttempts() || TransactionSynchronizationManager.isActualTransactionActive()) {
+                    throw e;
+                }
+            }
+        }
+    }
 
-        if(car.getFuelType().equals("LPG") && !garage.isAcceptsLPG()){
-            throw new RuntimeException("LPG is not allowed here!");
+    /**
+     * In pessimistic mode every change that touches the occupancy rows of a garage first locks the garage row, so
+     * changes of the same garage never race on the counters.
+     */
+    private boolean lockGarageRows() {
+        return bookingProperties.getMode() == BookingProperties.Mode.PESSIMISTIC;
+    }
+
+    private ReservationDto saveBooking(CreateReservationCommand command, boolean lockGarage) {
+        Optional<GarageSnapshot> garage = lockGarage
+                ? bookingMetrics.timeLockWait(BookingMetrics.SINGLE, () -> garageService.lockGarageById(command.getGarageId())).map(GarageSnapshot::fromEntity)
+                : garageService.findGarageById(command.getGarageId());
+
+        CarSnapshot car = carService.findCarById(command.getCarId()).orElseThrow(() -> new CarNotFoundException("Car not found"));
+
+        GarageSnapshot bookedGarage = garage.orElseThrow(() -> new GarageNotFoundException("Garage not found"));
+        GarageOccupancyCounter.Batch occupancies = occupancyCounter.batch(Collections.singleton(bookedGarage.getId()),
+                command.getFromDate(), command.getToDate());
+        book(command, car, bookedGarage, occupancies);
+        occupancies.flush();
+        Reservation toSave = command.toEntity(carService.getCarReference(car.getId()), garageService.getGarageReference(bookedGarage.getId()));
+        toSave.setChangeSeq(changeSequence.next());
+        ReservationDto saved = ReservationDto.fromEntity(reservationRepository.save(toSave));
+        eventPublisher.publishEvent(new ReservationEvent(ReservationEvent.Type.CREATED, saved));
+        return saved;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ReservationBatchResultDto saveAll(List<CreateReservationCommand> commands) {
+        List<RuntimeException> rejections = new ArrayList<>();
+        Supplier<ReservationBatchResultDto> batch = () -> withRetry(() -> {
+            rejections.clear();
+            return saveBatch(commands, rejections, lockGarageRows());
+        });
+        ReservationBatchResultDto result = bookingProperties.getMode() == BookingProperties.Mode.STRIPED
+                ? lockManager.withLocks(collectIds(commands, CreateReservationCommand::getGarageId), batch)
+                : batch.get();
+        rejections.forEach(bookingMetrics::rejected);
+        return result;
+    }
+
+    private ReservationBatchResultDto saveBatch(List<CreateReservationCommand> commands, List<RuntimeException> rejections, boolean lockGarages) {
+        Map<Long, Car> cars = carService.findCarsByIds(collectIds(commands, CreateReservationCommand::getCarId)).stream()
+                .collect(Collectors.toMap(Car::getId, Function.identity()));
+        Set<Long> garageIds = collectIds(commands, CreateReservationCommand::getGarageId);
+        Map<Long, Garage> garages = (lockGarages
+                ? bookingMetrics.timeLockWait(BookingMetrics.BATCH, () -> garageService.lockGaragesByIds(garageIds))
+                : garageService.findGaragesByIds(garageIds)).stream()
+                .collect(Collectors.toMap(Garage::getId, Function.identity()));
+
+        // one read of the counters covering every item; the items are checked against it in memory and written at the end
+        GarageOccupancyCounter.Batch occupancies = occupancyCounter.batch(garages.keySet(),
+                commands.stream().map(CreateReservationCommand::getFromDate).filter(Objects::nonNull).min(Comparator.naturalOrder()).orElse(null),
+                commands.stream().map(CreateReservationCommand::getToDate).filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(null));
+
+        ReservationBatchItemDto[] items = new ReservationBatchItemDto[commands.size()];
+        List<Reservation> toSave = new ArrayList<>();
+        List<Integer> toSaveIndexes = new ArrayList<>();
+        for (int i = 0; i < commands.size(); i++) {
+            CreateReservationCommand command = commands.get(i);
+            try {
+                if (command.getFromDate() == null || command.getToDate() == null || command.getCarId() == null || command.getGarageId() == null) {
+                    throw new RuntimeException("fromDate, toDate, carId and garageId are highly needed!");
+                }
+                Garage garage = Optional.ofNullable(garages.get(command.getGarageId())).orElseThrow(() -> new GarageNotFoundException("Garage not found"));
+                Car car = Optional.ofNullable(cars.get(command.getCarId())).orElseThrow(() -> new CarNotFoundException("Car not found"));
+                book(command, CarSnapshot.fromEntity(car), GarageSnapshot.fromEntity(garage), occupancies);
+                toSave.add(command.toEntity(car, garage));
+                toSaveIndexes.add(i);
+            } catch (RuntimeException e) {
+                rejections.add(e);
+                items[i] = ReservationBatchItemDto.builder().index(i).created(false).error(e.getMessage()).build();
+            }
         }
 
-        if (!checkIfReservationIsFree(command)) {
-            throw new RuntimeException("there is no free places for these dates");
+        occupancies.flush();
+        List<Long> changeSeqs = changeSequence.next(toSave.size());
+        for (int i = 0; i < toSave.size(); i++) {
+            toSave.get(i).setChangeSeq(changeSeqs.get(i));
+        }
+        List<Reservation> saved = reservationRepository.saveAll(toSave);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = toSaveIndexes.get(i);
+            ReservationDto reservation = ReservationDto.fromEntity(saved.get(i));
+            eventPublisher.publishEvent(new ReservationEvent(ReservationEvent.Type.CREATED, reservation));
+            items[index] = ReservationBatchItemDto.builder().index(index).created(true).reservation(reservation).build();
         }
-        Reservation toSave = command.toEntity(car, garage);
-        Reservation saved = reservationRepository.save(toSave);
-        return ReservationDto.fromEntity(saved);
+        return ReservationBatchResultDto.builder()
+                .created(saved.size())
+                .rejected(commands.size() - saved.size())
+                .items(Arrays.asList(items))
+                .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReservationDto> getAllReservations() {
-        return reservationRepository.findByDeletedFalse().stream().map(this::mapToDto).collect(Collectors.toList());
+        return reservationRepository.findDtosByDeletedFalse();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ReservationDto> getReservations(ReservationFilter filter, Long after, Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        List<ReservationDto> reservations = reservationRepository.findPage(after, filter.getGarageId(), filter.getCarId(),
+                filter.getFrom(), filter.getTo(), PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(reservations, pageSize, ReservationDto::getId, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ReservationChangeDto> getChanges(Long after, Integer size) {
+        int pageSize = paginationProperties.resolveSize(size);
+        long upTo = changeSequence.committedUpTo();
+        List<ReservationChangeDto> changes = reservationRepository.findChanges(after == null ? 0 : after, upTo,
+                PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(changes, pageSize, ReservationChangeDto::getSequence, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportReservations(Consumer<ReservationDto> consumer) {
+        try (Stream<ReservationDto> reservations = reservationRepository.streamDtosByDeletedFalse()) {
+            reservations.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<ReservationDto> getReservationById(Long id) {
-        return reservationRepository.findByIdAndDeletedFalse(id).map(this::mapToDto);
+        return reservationRepository.findDtoByIdAndDeletedFalse(id)
+                .or(() -> historyRepository.findDtoById(id));
     }
 
     @Override
@@ -64,45 +241,223 @@ public class ReservationServiceImpl implements ReservationService {
 
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ReservationDto updateReservation(Long id, @NotNull UpdateReservationCommand command) {
-        Reservation reservation = reservationRepository.findById(id).orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
+        try {
+            if (bookingProperties.getMode() == BookingProperties.Mode.STRIPED) {
+                return withReservationStripes(id, command.getGarageId(), () -> withRetry(() -> updateBooking(id, command, false)));
+            }
+            return withRetry(() -> updateBooking(id, command, lockGarageRows()));
+        } catch (RuntimeException e) {
+            bookingMetrics.rejected(e);
+            throw e;
+        }
+    }
 
-        Garage garage = garageService.findGarageById(command.getGarageId()).orElseThrow(() -> new GarageNotFoundException("Garage not found"));
+    private ReservationDto updateBooking(Long id, UpdateReservationCommand command, boolean lockGarage) {
+        Reservation reservation = findReservation(id, lockGarage);
 
-        Car car = carService.findCarById(command.getCarId()).orElseThrow(() -> new CarNotFoundException("Car not found"));
+        Optional<GarageSnapshot> foundGarage;
+        if (lockGarage) {
+            // the old garage loses a booking, so its counters are locked as well; ascending id order avoids deadlocks
+            Set<Long> garageIds = new HashSet<>();
+            garageIds.add(command.getGarageId());
+            if (reservation.getGarage() != null && !reservation.isDeleted()) {
+                garageIds.add(reservation.getGarage().getId());
+            }
+            foundGarage = bookingMetrics.timeLockWait(BookingMetrics.SINGLE, () -> garageService.lockGaragesByIds(garageIds)).stream()
+                    .filter(locked -> locked.getId().equals(command.getGarageId()))
+                    .findFirst()
+                    .map(GarageSnapshot::fromEntity);
+        } else {
+            foundGarage = garageService.findGarageById(command.getGarageId());
+        }
+        GarageSnapshot garage = foundGarage.orElseThrow(() -> new GarageNotFoundException("Garage not found"));
+
+        CarSnapshot car = carService.findCarById(command.getCarId()).orElseThrow(() -> new CarNotFoundException("Car not found"));
 
         if(car.getFuelType().equals("LPG") && !garage.isAcceptsLPG()){
-            throw new RuntimeException("LPG is not allowed here!");
+            throw new LpgNotAllowedException("LPG is not allowed here!");
         }
-        command.update(reservation, car, garage);
-        return ReservationDto.fromEntity(reservationRepository.save(reservation));
+        validateDates(command.getFromDate(), command.getToDate());
+
+        if (!reservation.isDeleted()) {
+            releasePlace(reservation);
+            if (!hasFreePlace(garage, command.getFromDate(), command.getToDate(), reservation.getId())) {
+                throw new NoFreePlacesException("there is no free places for these dates");
+            }
+        }
+        long changeSeq = changeSequence.next();
+        command.update(reservation, carService.getCarReference(car.getId()), garageService.getGarageReference(garage.getId()));
+        reservation.setChangeSeq(changeSeq);
+        Reservation saved = reservationRepository.save(reservation);
+        if (!saved.isDeleted()) {
+            occupancyCounter.reserve(garage, command.getFromDate(), command.getToDate());
+            availabilityIndex.book(garage.getId(), command.getFromDate(), command.getToDate());
+        }
+        ReservationDto updated = ReservationDto.fromEntity(saved);
+        eventPublisher.publishEvent(new ReservationEvent(ReservationEvent.Type.UPDATED, updated));
+        return updated;
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void deleteReservation(Long id) {
-        Reservation reservation = reservationRepository.findById(id).orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
+        if (bookingProperties.getMode() == BookingProperties.Mode.STRIPED) {
+            withReservationStripes(id, null, () -> withRetry(() -> deleteBooking(id, false)));
+        } else {
+            withRetry(() -> deleteBooking(id, lockGarageRows()));
+        }
+    }
+
+    private Reservation deleteBooking(Long id, boolean lockGarage) {
+        Reservation reservation = findReservation(id, lockGarage);
+        boolean wasActive = !reservation.isDeleted();
+        if (wasActive) {
+            if (lockGarage && reservation.getGarage() != null) {
+                bookingMetrics.timeLockWait(BookingMetrics.SINGLE, () -> garageService.lockGarageById(reservation.getGarage().getId()));
+            }
+            releasePlace(reservation);
+        }
+        reservation.setChangeSeq(changeSequence.next());
         reservation.setDeleted(true);
-        reservationRepository.save(reservation);
+        reservation.setDeletedAt(Instant.now());
+        Reservation saved = reservationRepository.save(reservation);
+        if (wasActive) {
+            eventPublisher.publishEvent(new ReservationEvent(ReservationEvent.Type.CANCELLED, ReservationDto.fromEntity(saved)));
+        }
+        return saved;
+    }
+
+    /**
+     * Striped mode counterpart of locking the reservation row: holds the stripes of the reservation's current garage
+     * and of {@code targetGarageId}, and starts over when a concurrent change moved the reservation to another garage
+     * before the stripes were taken.
+     */
+    private <T> T withReservationStripes(Long id, Long targetGarageId, Supplier<T> change) {
+        for (int attempt = 1; ; attempt++) {
+            Long currentGarageId = currentGarageId(id);
+            Set<Long> garageIds = new HashSet<>();
+            garageIds.add(currentGarageId);
+            garageIds.add(targetGarageId);
+            Optional<T> result = lockManager.withLocks(garageIds, () -> Objects.equals(currentGarageId, currentGarageId(id))
+                    ? Optional.of(change.get())
+                    : Optional.empty());
+            if (result.isPresent()) {
+                return result.get();
+            }
+            if (attempt >= bookingProperties.getMaxAttempts()) {
+                throw new OptimisticLockingFailureException("Reservation " + id + " kept moving between garages");
+            }
+        }
+    }
+
+    private Long currentGarageId(Long id) {
+        return reservationRepository.findGarageIdById(id).orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
+    }
+
+    /**
+     * With {@code lock} set the reservation row stays locked until commit, so a concurrent change can not move it to
+     * another garage between reading it and locking its garage.
+     */
+    private Reservation findReservation(Long id, boolean lock) {
+        return (lock
+                ? bookingMetrics.timeLockWait(BookingMetrics.SINGLE, () -> reservationRepository.findLockedById(id))
+                : reservationRepository.findById(id))
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FreeSlotDto> findFreeSlots(FreeSlotQuery query) {
+        if (query.getCarId() == null || query.getDays() == null || query.getFrom() == null || query.getTo() == null) {
+            throw new RuntimeException("carId, days, from and to are highly needed!");
+        }
+        if (query.getDays() < 1) {
+            throw new RuntimeException("days can not be less than 1");
+        }
+        validateDates(query.getFrom(), query.getTo());
+        CarSnapshot car = carService.findCarById(query.getCarId()).orElseThrow(() -> new CarNotFoundException("Car not found"));
+
+        LocalDate lastStart = query.getTo().minusDays(query.getDays() - 1);
+        List<FreeSlotDto> slots = new ArrayList<>();
+        for (Garage garage : garageService.findGaragesFor(car)) {
+            LocalDate start = earliestFree(garage, query.getFrom(), lastStart, query.getDays());
+            if (start != null) {
+                slots.add(FreeSlotDto.builder()
+                        .garageId(garage.getId())
+                        .address(garage.getAddress())
+                        .fromDate(start)
+                        .toDate(start.plusDays(query.getDays() - 1))
+                        .build());
+            }
+        }
+        slots.sort(Comparator.comparing(FreeSlotDto::getFromDate).thenComparing(FreeSlotDto::getGarageId));
+        int limit = paginationProperties.resolveSize(query.getLimit());
+        return slots.size() > limit ? new ArrayList<>(slots.subList(0, limit)) : slots;
     }
 
     @Override
     public boolean checkIfReservationIsFree(@NotNull CreateReservationCommand command) {
-       garageService.findGarageById(command.getGarageId()).orElseThrow(() -> new GarageNotFoundException("Garage not found"));
+        GarageSnapshot garage = garageService.findGarageById(command.getGarageId()).orElseThrow(() -> new GarageNotFoundException("Garage not found"));
+
+        return hasFreePlace(garage, command.getFromDate(), command.getToDate(), null);
+    }
 
-        List<Reservation> overlappingReservations = reservationRepository.findOverlappingReservations(command.getFromDate(), command.getToDate(), command.getGarageId());
+    /**
+     * Checks one booking against the cached snapshots and adds it to {@code occupancies}; the caller builds the entity
+     * from managed cars and garages or references to them.
+     */
+    private void book(CreateReservationCommand command, CarSnapshot car, GarageSnapshot garage, GarageOccupancyCounter.Batch occupancies) {
+        if(car.getFuelType().equals("LPG") && !garage.isAcceptsLPG()){
+            throw new LpgNotAllowedException("LPG is not allowed here!");
+        }
+        validateDates(command.getFromDate(), command.getToDate());
 
-        return overlappingReservations.isEmpty();
+        if (!hasFreePlace(garage, command.getFromDate(), command.getToDate(), null)) {
+            throw new NoFreePlacesException("there is no free places for these dates");
+        }
+        occupancies.reserve(garage, command.getFromDate(), command.getToDate());
+        availabilityIndex.book(garage.getId(), command.getFromDate(), command.getToDate());
     }
 
-    private ReservationDto mapToDto(@NotNull Reservation reservation) {
-        return ReservationDto.builder()
-                .id(reservation.getId()).
-                carId(reservation.getCar().getId())
-                .garageId(reservation.getGarage().getId())
-                .fromDate(reservation.getFromDate())
-                .toDate(reservation.getToDate())
-                .deleted(reservation.isDeleted())
-                .build();
+    private Set<Long> collectIds(List<CreateReservationCommand> commands, Function<CreateReservationCommand, Long> id) {
+        return commands.stream()
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private boolean hasFreePlace(GarageSnapshot garage, LocalDate fromDate, LocalDate toDate, Long ignoredReservationId) {
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.peakOccupancy(garage.getId(), fromDate, toDate) < garage.getNumberOfPlaces();
+        }
+        // the overlap count bounds the peak from above, so the per-day walk is only needed when it reaches capacity
+        if (reservationRepository.countOverlappingReservations(fromDate, toDate, garage.getId(), ignoredReservationId) < garage.getNumberOfPlaces()) {
+            return true;
+        }
+        List<ReservationPeriod> overlapping = reservationRepository.findOverlappingPeriods(fromDate, toDate, garage.getId(), ignoredReservationId);
+        return GarageAvailabilityIndex.peakOccupancy(overlapping, fromDate, toDate) < garage.getNumberOfPlaces();
+    }
+
+    private LocalDate earliestFree(Garage garage, LocalDate fromDate, LocalDate lastStart, int days) {
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.earliestFree(garage, fromDate, lastStart, days);
+        }
+        List<ReservationPeriod> overlapping = reservationRepository.findOverlappingPeriods(fromDate, lastStart.plusDays(days - 1), garage.getId(), null);
+        return GarageAvailabilityIndex.earliestFree(overlapping, garage, fromDate, lastStart, days);
+    }
+
+    private void releasePlace(Reservation reservation) {
+        if (reservation.getGarage() != null) {
+            occupancyCounter.release(reservation.getGarage().getId(), reservation.getFromDate(), reservation.getToDate());
+            availabilityIndex.release(reservation.getGarage().getId(), reservation.getFromDate(), reservation.getToDate());
+        }
+    }
+
+    private void validateDates(LocalDate fromDate, LocalDate toDate) {
+        if (toDate.isBefore(fromDate)) {
+            throw new RuntimeException("toDate can not be before fromDate");
+        }
     }
 }
\ No newline at end of file
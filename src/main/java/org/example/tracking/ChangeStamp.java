@@ -0,0 +1,20 @@
+package org.example.tracking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ChangeStamp {
+    private final String epoch;
+
+    private final long version;
+
+    public String getEtag() {
+        return epoch + "-" + version;
+    }
+
+    ChangeStamp next() {
+        return new ChangeStamp(epoch, version + 1);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.tracking;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table-level change counters used as validators for conditional GETs. Every committed insert, update or delete of a
+ * tracked entity bumps the counter of its type, so the stamp of a type only changes when something readers can see
+ * has changed.
+ * <p>
+ * Counters are bumped after commit: a reader that takes the stamp before querying can at worst pair an old stamp with
+ * new data, which only costs one extra download, never a stale 304. The boot epoch keeps ETags issued before a restart
+ * from matching the reset counters.
+ * <p>
+ * There is deliberately no {@code Last-Modified} validator: HTTP dates only have second resolution, so a client sending
+ * just {@code If-Modified-Since} would get a stale 304 after a second change within the same second.
+ */
+@Component
+public class ChangeTracker {
+    private final String epoch;
+    private final Map<Class<?>, ChangeStamp> stamps = new ConcurrentHashMap<>();
+
+    public ChangeTracker() {
+        this(Clock.systemUTC());
+    }
+
+    ChangeTracker(Clock clock) {
+        this.epoch = Long.toString(clock.millis(), Character.MAX_RADIX);
+    }
+
+    public ChangeStamp stamp(Class<?> type) {
+        return stamps.computeIfAbsent(type, ignored -> new ChangeStamp(epoch, 0));
+    }
+
+    public void changed(Class<?> type) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(type);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Class<?>> pending = (Set<Class<?>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Class<?>> changed = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, changed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(ChangeTracker.this);
+                    if (status == STATUS_COMMITTED) {
+                        changed.forEach(ChangeTracker.this::bump);
+                    }
+                }
+            });
+            pending = changed;
+        }
+        pending.add(type);
+    }
+
+    private void bump(Class<?> type) {
+        stamps.compute(type, (ignored, current) -> (current == null ? new ChangeStamp(epoch, 0) : current).next());
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.tracking;
+
+import lombok.RequiredArgsConstructor;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * JPA entity listener feeding {@link ChangeTracker}; Hibernate obtains it from the Spring bean container. Soft deletes
+ * arrive here as updates of the {@code deleted} flag.
+ */
+@RequiredArgsConstructor
+public class ChangeTrackingListener {
+    private final ChangeTracker changeTracker;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void changed(Object entity) {
+        changeTracker.changed(entity.getClass());
+    }
+}
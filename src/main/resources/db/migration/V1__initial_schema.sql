@@ -0,0 +1,45 @@
+create sequence reservation_seq start with 1 increment by 50;
+
+create table car (
+    id bigint generated by default as identity,
+    brand varchar(255),
+    deleted boolean not null,
+    fuel_type varchar(255),
+    model varchar(255),
+    price double,
+    primary key (id)
+);
+
+create table garage (
+    id bigint generated by default as identity,
+    acceptslpg boolean not null,
+    address varchar(255),
+    deleted boolean not null,
+    number_of_places integer not null,
+    primary key (id)
+);
+
+create table reservation (
+    id bigint not null,
+    deleted boolean not null,
+    from_date date,
+    to_date date,
+    car_id bigint,
+    garage_id bigint,
+    primary key (id),
+    constraint fk_reservation_car foreign key (car_id) references car,
+    constraint fk_reservation_garage foreign key (garage_id) references garage
+);
+
+create index idx_reservation_garage_dates on reservation (garage_id, from_date, to_date);
+create index idx_reservation_car_dates on reservation (car_id, from_date);
+
+create table garage_occupancy (
+    id bigint generated by default as identity,
+    booked integer not null,
+    occupancy_day date not null,
+    garage_id bigint not null,
+    version bigint not null,
+    primary key (id),
+    constraint uk_garage_occupancy_day unique (garage_id, occupancy_day)
+);
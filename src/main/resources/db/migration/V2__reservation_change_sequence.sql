@@ -0,0 +1,8 @@
+create sequence reservation_change_seq start with 1 increment by 1;
+
+alter table reservation add column change_seq bigint;
+
+-- existing rows enter the feed once, in no particular order
+update reservation set change_seq = next value for reservation_change_seq;
+
+create index idx_reservation_change_seq on reservation (change_seq);
@@ -0,0 +1,45 @@
+alter table car add column deleted_at timestamp;
+alter table garage add column deleted_at timestamp;
+alter table reservation add column deleted_at timestamp;
+
+-- rows deleted before deletion times were recorded start their retention window now
+update car set deleted_at = current_timestamp where deleted = true;
+update garage set deleted_at = current_timestamp where deleted = true;
+update reservation set deleted_at = current_timestamp where deleted = true;
+
+create index idx_car_deleted_id on car (deleted, id);
+create index idx_garage_deleted_id on garage (deleted, id);
+create index idx_reservation_deleted_id on reservation (deleted, id);
+
+create table car_archive (
+    id bigint not null,
+    brand varchar(255),
+    fuel_type varchar(255),
+    model varchar(255),
+    price double,
+    deleted_at timestamp,
+    archived_at timestamp not null,
+    primary key (id)
+);
+
+create table garage_archive (
+    id bigint not null,
+    acceptslpg boolean not null,
+    address varchar(255),
+    number_of_places integer not null,
+    deleted_at timestamp,
+    archived_at timestamp not null,
+    primary key (id)
+);
+
+create table reservation_archive (
+    id bigint not null,
+    from_date date,
+    to_date date,
+    car_id bigint,
+    garage_id bigint,
+    change_seq bigint,
+    deleted_at timestamp,
+    archived_at timestamp not null,
+    primary key (id)
+);
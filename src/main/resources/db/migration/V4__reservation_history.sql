@@ -0,0 +1,15 @@
+create table reservation_history (
+    id bigint not null,
+    from_date date not null,
+    to_date date not null,
+    car_id bigint,
+    garage_id bigint,
+    change_seq bigint,
+    retired_at timestamp not null,
+    primary key (id)
+);
+
+create index idx_reservation_history_garage_dates on reservation_history (garage_id, from_date);
+create index idx_reservation_history_car_dates on reservation_history (car_id, from_date);
+
+create index idx_reservation_deleted_to_date on reservation (deleted, to_date);
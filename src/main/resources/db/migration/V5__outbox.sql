@@ -0,0 +1,10 @@
+create sequence outbox_event_seq start with 1 increment by 50;
+
+create table outbox_event (
+    id bigint not null,
+    aggregate_id bigint not null,
+    event_type varchar(64) not null,
+    payload varchar(4000) not null,
+    created_at timestamp not null,
+    primary key (id)
+);
@@ -0,0 +1,22 @@
+-- garage_occupancy only counted bookings made after it was introduced. Rebuild it from every booking that holds its
+-- days: active reservations and the ended ones already rolled over into reservation_history.
+delete from garage_occupancy;
+
+insert into garage_occupancy (garage_id, occupancy_day, booked, version)
+with recursive booked_day (garage_id, occupancy_day, to_date) as (
+    select garage_id, from_date, to_date
+    from (
+        select garage_id, from_date, to_date from reservation
+        where deleted = false and garage_id is not null and from_date <= to_date
+        union all
+        select garage_id, from_date, to_date from reservation_history
+        where garage_id is not null and from_date <= to_date
+    ) booking
+    union all
+    select garage_id, dateadd(day, 1, occupancy_day), to_date
+    from booked_day
+    where occupancy_day < to_date
+)
+select garage_id, occupancy_day, count(*), 0
+from booked_day
+group by garage_id, occupancy_day;
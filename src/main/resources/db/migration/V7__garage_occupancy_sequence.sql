@@ -0,0 +1,7 @@
+-- new counter rows take their ids from a pooled sequence, so a batch booking inserts them as one JDBC batch
+create sequence garage_occupancy_seq start with 1 increment by 50;
+
+alter table garage_occupancy alter column id drop identity;
+
+-- renumber existing rows so their ids stay below everything the sequence hands out from now on
+update garage_occupancy set id = next value for garage_occupancy_seq;
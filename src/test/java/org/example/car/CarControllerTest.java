@@ -10,15 +10,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.util.Base64Utils;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -164,4 +169,91 @@ class CarControllerTest {
         assertTrue(carRepository.findById(2L).isPresent());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testFindAll_ResultsInFilteredPagesBeingReturned() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            carRepository.save(Car.builder()
+                    .brand("Brand2")
+                    .model("Model" + i)
+                    .price(200.0 + i)
+                    .fuelType("LPG")
+                    .build());
+        }
+
+        String nextCursor = mockMvc.perform(get("/api/cars")
+                        .param("brand", "Brand2")
+                        .param("minPrice", "201")
+                        .param("size", "2")
+                        .header("Authorization", "Basic " + Base64Utils.encodeToString("user:password".getBytes())))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$.[0].price").value(201.0))
+                .andExpect(jsonPath("$.[1].price").value(202.0))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/cars")
+                        .param("brand", "Brand2")
+                        .param("minPrice", "201")
+                        .param("size", "2")
+                        .param("after", nextCursor)
+                        .header("Authorization", "Basic " + Base64Utils.encodeToString("user:password".getBytes())))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$.[0].price").value(203.0))
+                .andExpect(jsonPath("$.[1].price").value(204.0))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void testFindAll_ResultsInNotModifiedUntilCarsChange() throws Exception {
+        String authorization = "Basic " + Base64Utils.encodeToString("user:password".getBytes());
+        MvcResult first = mockMvc.perform(get("/api/cars")
+                        .header("Authorization", authorization))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/cars")
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/cars/{id}", car1.getId())
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        UpdateCarCommand command = new UpdateCarCommand();
+        command.setBrand("Brand2");
+        command.setModel("Model2");
+        command.setPrice(200.0);
+        command.setFuelType("Fuel2");
+        mockMvc.perform(put("/api/cars/{id}", car1.getId())
+                        .header("Authorization", authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(command)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/cars")
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$[0].brand").value("Brand2"));
+
+        // only the ETag validates: a date can not tell two changes within the same second apart
+        mockMvc.perform(get("/api/cars")
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 01 Jan 2100 00:00:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].brand").value("Brand2"));
+    }
+}
@@ -1,8 +1,12 @@
 package org.example.car;
 
+import org.example.configuration.PaginationProperties;
 import org.example.mapper.CarMapper;
 import org.example.model.Car;
 import org.example.model.dto.CarDto;
+import org.example.model.dto.CarSnapshot;
+import org.example.model.dto.KeysetPage;
+import org.example.model.filter.CarFilter;
 import org.example.model.command.CreateCarCommand;
 import org.example.model.command.UpdateCarCommand;
 import org.example.repository.CarRepository;
@@ -12,6 +16,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
+import org.springframework.data.domain.PageRequest;
+
 import javax.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.Optional;
@@ -37,7 +43,7 @@ class CarServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        carService = new CarServiceImpl(carRepository, carMapper);
+        carService = new CarServiceImpl(carRepository, carMapper, new PaginationProperties());
     }
 
     @Test
@@ -93,24 +99,27 @@ class CarServiceImplTest {
         CarDto dto2 = new CarDto();
         List<CarDto> expectedDtos = List.of(dto1, dto2);
 
-        when(carRepository.findAll()).thenReturn(carList);
+        when(carRepository.findByDeletedFalse()).thenReturn(carList);
 
         List<CarDto> resultDtos = carService.getAllCars();
 
-        verify(carRepository).findAll();
+        verify(carRepository).findByDeletedFalse();
     }
 
     @Test
     void findCarById_shouldReturnCarIfExists() {
         Long carId = 1L;
         Car expectedCar = new Car();
+        expectedCar.setId(carId);
+        expectedCar.setBrand("Toyota");
 
         when(carRepository.findByIdAndDeletedFalse(carId)).thenReturn(Optional.of(expectedCar));
 
-        Optional<Car> resultCar = carService.findCarById(carId);
+        Optional<CarSnapshot> resultCar = carService.findCarById(carId);
 
         assertTrue(resultCar.isPresent());
-        assertSame(expectedCar, resultCar.get());
+        assertEquals(carId, resultCar.get().getId());
+        assertEquals("Toyota", resultCar.get().getBrand());
         verify(carRepository).findByIdAndDeletedFalse(carId);
     }
 
@@ -120,7 +129,7 @@ class CarServiceImplTest {
 
         when(carRepository.findByIdAndDeletedFalse(carId)).thenReturn(Optional.empty());
 
-        Optional<Car> resultCar = carService.findCarById(carId);
+        Optional<CarSnapshot> resultCar = carService.findCarById(carId);
 
         assertFalse(resultCar.isPresent());
         verify(carRepository).findByIdAndDeletedFalse(carId);
@@ -189,4 +198,24 @@ class CarServiceImplTest {
         verify(carRepository).findById(carId);
         verify(carRepository, never()).save(any());
     }
+
+    @Test
+    void getCars_shouldCapPageSizeAndReturnNextCursor() {
+        PaginationProperties paginationProperties = new PaginationProperties();
+        paginationProperties.setMaxSize(2);
+        carService = new CarServiceImpl(carRepository, carMapper, paginationProperties);
+        Car car1 = Car.builder().id(1L).build();
+        Car car2 = Car.builder().id(2L).build();
+        Car car3 = Car.builder().id(3L).build();
+        CarFilter filter = new CarFilter();
+        filter.setBrand("Brand");
+
+        when(carRepository.findPage(isNull(), eq("Brand"), isNull(), isNull(), isNull(), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(car1, car2, car3));
+
+        KeysetPage<CarDto> page = carService.getCars(filter, null, 50);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(2L, page.getNextCursor());
+    }
 }
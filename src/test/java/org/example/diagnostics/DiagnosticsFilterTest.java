@@ -0,0 +1,103 @@
+package org.example.diagnostics;
+
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.Reservation;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.Base64Utils;
+
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"garage.diagnostics.enabled=true", "garage.diagnostics.slow-request-threshold=0ms"})
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DiagnosticsFilterTest {
+    private static final Pattern LOG_LINE = Pattern.compile(
+            "GET /api/reservations took \\d+ ms: (\\d+) statements, \\d+ ms in db, \\d+ ms waiting for garage locks");
+
+    private static final Pattern EXPORT_LOG_LINE = Pattern.compile(
+            "GET /api/reservations/export took \\d+ ms: (\\d+) statements");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @BeforeEach
+    void init() {
+        Car car = carRepository.save(Car.builder().brand("brand").model("model").price(100.0).fuelType("fuel").build());
+        Garage garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(10).build());
+        for (int i = 0; i < 5; i++) {
+            reservationRepository.save(Reservation.builder()
+                    .car(car).garage(garage).fromDate(LocalDate.now()).toDate(LocalDate.now().plusDays(i)).build());
+        }
+    }
+
+    @Test
+    void shouldLogStatementCountOfRequestsAboveThreshold(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/api/reservations")
+                        .header("Authorization", "Basic " + Base64Utils.encodeToString("user:password".getBytes())))
+                .andExpect(status().isOk());
+
+        Matcher matcher = LOG_LINE.matcher(output.getOut());
+        assertTrue(matcher.find(), output.getOut());
+        assertEquals("1", matcher.group(1));
+    }
+
+    @Test
+    void shouldLogStreamingExportOnceItHasCompleted(CapturedOutput output) throws Exception {
+        ResponseEntity<String> response = restTemplate.withBasicAuth("user", "password")
+                .getForEntity("/api/reservations/export", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5, response.getBody().split("\n").length);
+
+        Matcher matcher = EXPORT_LOG_LINE.matcher("");
+        for (int i = 0; i < 50 && !matcher.reset(output.getOut()).find(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(matcher.reset(output.getOut()).find(), output.getOut());
+        assertEquals("1", matcher.group(1), "the streaming query runs on the async thread and must still be counted");
+    }
+
+    @Test
+    void shouldIgnoreRequestsOutsideApi(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/actuator/health")
+                        .header("Authorization", "Basic " + Base64Utils.encodeToString("user:password".getBytes())))
+                .andExpect(status().isOk());
+
+        assertFalse(output.getOut().contains("/actuator/health took"));
+    }
+}
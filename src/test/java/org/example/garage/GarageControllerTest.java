@@ -2,10 +2,15 @@ package org.example.garage;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.Car;
 import org.example.model.Garage;
+import org.example.model.command.CreateReservationCommand;
 import org.example.model.command.CreateGarageCommand;
 import org.example.model.command.UpdateGarageCommand;
+import org.example.model.dto.ReservationDto;
+import org.example.repository.CarRepository;
 import org.example.repository.GarageRepository;
+import org.example.service.ReservationService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +22,8 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.util.Base64Utils;
+
+import java.time.LocalDate;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -36,6 +43,12 @@ public class GarageControllerTest {
     @Autowired
     private GarageRepository garageRepository;
 
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
     @Autowired
     ObjectMapper objectMapper;
 
@@ -158,4 +171,72 @@ public class GarageControllerTest {
         assertTrue(garageRepository.findById(2L).isPresent());
     }
 
+    @Test
+    void testFindAll_ResultsInFilteredGaragesBeingReturned() throws Exception {
+        garageRepository.save(Garage.builder()
+                .address("small")
+                .numberOfPlaces(2)
+                .acceptsLPG(true)
+                .build());
+        garageRepository.save(Garage.builder()
+                .address("no lpg")
+                .numberOfPlaces(20)
+                .acceptsLPG(false)
+                .build());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/garages")
+                        .param("acceptsLPG", "true")
+                        .param("minPlaces", "5")
+                        .header("Authorization", "Basic " + Base64Utils.encodeToString("user:password".getBytes())))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$.[0].id").value(garage.getId()));
+    }
+
+    @Test
+    void testOccupancy_ResultsInDailyCountersBeingReturned() throws Exception {
+        Car car = carRepository.save(Car.builder()
+                .brand("brand")
+                .model("model")
+                .price(100.0)
+                .fuelType("fuel")
+                .build());
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        reservationService.save(reservation(car, start, start.plusDays(2)));
+        reservationService.save(reservation(car, start.plusDays(1), start.plusDays(1)));
+        ReservationDto cancelled = reservationService.save(reservation(car, start, start));
+        reservationService.deleteReservation(cancelled.getId());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/garages/{id}/occupancy", garage.getId())
+                        .param("from", start.minusDays(1).toString())
+                        .param("to", start.plusDays(3).toString())
+                        .header("Authorization", "Basic " + Base64Utils.encodeToString("user:password".getBytes())))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.garageId").value(garage.getId()))
+                .andExpect(jsonPath("$.numberOfPlaces").value(10))
+                .andExpect(jsonPath("$.days", hasSize(5)))
+                .andExpect(jsonPath("$.days[*].booked", contains(0, 1, 2, 1, 0)))
+                .andExpect(jsonPath("$.days[1].day").value(start.toString()))
+                .andExpect(jsonPath("$.days[2].free").value(8));
+    }
+
+    @Test
+    void testOccupancy_ResultsInGarageNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/garages/{id}/occupancy", 0L)
+                        .param("from", "2030-01-01")
+                        .param("to", "2030-01-31")
+                        .header("Authorization", "Basic " + Base64Utils.encodeToString("user:password".getBytes())))
+                .andExpect(status().isNotFound());
+    }
+
+    private CreateReservationCommand reservation(Car car, LocalDate fromDate, LocalDate toDate) {
+        CreateReservationCommand command = new CreateReservationCommand();
+        command.setCarId(car.getId());
+        command.setGarageId(garage.getId());
+        command.setFromDate(fromDate);
+        command.setToDate(toDate);
+        return command;
+    }
 }
@@ -1,9 +1,13 @@
 package org.example.garage;
 
+import org.example.configuration.PaginationProperties;
 import org.example.model.Garage;
+import org.example.model.GarageOccupancy;
 import org.example.model.command.CreateGarageCommand;
 import org.example.model.command.UpdateGarageCommand;
 import org.example.model.dto.GarageDto;
+import org.example.model.dto.GarageOccupancyDto;
+import org.example.repository.GarageOccupancyRepository;
 import org.example.repository.GarageRepository;
 import org.example.service.GarageServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import javax.persistence.EntityNotFoundException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +32,9 @@ class GarageServiceImplTest {
     @Mock
     private GarageRepository garageRepository;
 
+    @Mock
+    private GarageOccupancyRepository occupancyRepository;
+
 
 
     Garage garage;
@@ -35,7 +43,7 @@ class GarageServiceImplTest {
     void init() {
         MockitoAnnotations.openMocks(this);
 
-        garageService = new GarageServiceImpl(garageRepository);
+        garageService = new GarageServiceImpl(garageRepository, occupancyRepository, new PaginationProperties());
 
          garage = Garage.builder()
                 .id(1L)
@@ -162,4 +170,28 @@ class GarageServiceImplTest {
     }
 
 
+
+    @Test
+    void getOccupancy_withInvertedRange_shouldThrowRuntimeException() {
+        LocalDate from = LocalDate.of(2030, 1, 10);
+
+        assertThrows(RuntimeException.class, () -> garageService.getOccupancy(1L, from, from.minusDays(1)));
+        verifyNoInteractions(occupancyRepository);
+    }
+
+    @Test
+    void getOccupancy_withMissingCounters_shouldReportDaysAsFree() {
+        LocalDate from = LocalDate.of(2030, 1, 1);
+        when(garageRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(garage));
+        when(occupancyRepository.findByGarageIdAndDayBetweenOrderByDayAsc(1L, from, from.plusDays(2)))
+                .thenReturn(List.of(GarageOccupancy.builder().garageId(1L).day(from.plusDays(1)).booked(4).build()));
+
+        GarageOccupancyDto occupancy = garageService.getOccupancy(1L, from, from.plusDays(2)).orElseThrow();
+
+        assertEquals(3, occupancy.getDays().size());
+        assertEquals(0, occupancy.getDays().get(0).getBooked());
+        assertEquals(4, occupancy.getDays().get(1).getBooked());
+        assertEquals(6, occupancy.getDays().get(1).getFree());
+        assertEquals(0, occupancy.getDays().get(2).getBooked());
+    }
 }
@@ -0,0 +1,78 @@
+package org.example.garage;
+
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.Reservation;
+import org.example.model.dto.GarageOccupancyDto;
+import org.example.model.dto.OccupancyDayDto;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.ReservationRepository;
+import org.example.service.GarageService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts on the schema as it was before the occupancy backfill, writes reservations behind the counters' back and
+ * checks that the backfill makes the calendar report them.
+ */
+@SpringBootTest(properties = {"spring.flyway.target=5", "spring.jpa.hibernate.ddl-auto=none"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class OccupancyBackfillTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void backfill_shouldCountReservationsWrittenWithoutCounters() {
+        LocalDate today = LocalDate.now();
+        Car car = carRepository.save(Car.builder().brand("brand").model("model").price(100.0).fuelType("fuel").build());
+        Garage garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(3).build());
+        reservationRepository.save(reservation(car, garage, today, today.plusDays(2), false));
+        reservationRepository.save(reservation(car, garage, today.plusDays(1), today.plusDays(1), false));
+        reservationRepository.save(reservation(car, garage, today, today.plusDays(3), true));
+        // a stale counter left behind by a cancellation written outside the service
+        jdbcTemplate.update("insert into garage_occupancy (garage_id, occupancy_day, booked, version) values (?, ?, 1, 0)",
+                garage.getId(), today.plusDays(3));
+
+        Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .target(MigrationVersion.LATEST)
+                .load()
+                .migrate();
+
+        GarageOccupancyDto occupancy = garageService.getOccupancy(garage.getId(), today, today.plusDays(3)).orElseThrow();
+        assertEquals(List.of(1, 2, 1, 0), occupancy.getDays().stream().map(OccupancyDayDto::getBooked).collect(Collectors.toList()));
+        assertEquals(List.of(2, 1, 2, 3), occupancy.getDays().stream().map(OccupancyDayDto::getFree).collect(Collectors.toList()));
+    }
+
+    private static Reservation reservation(Car car, Garage garage, LocalDate from, LocalDate to, boolean deleted) {
+        return Reservation.builder().car(car).garage(garage).fromDate(from).toDate(to).deleted(deleted).build();
+    }
+}
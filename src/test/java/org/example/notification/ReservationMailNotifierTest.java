@@ -0,0 +1,168 @@
+package org.example.notification;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.configuration.NotificationProperties;
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.command.CreateReservationCommand;
+import org.example.model.dto.ReservationDto;
+import org.example.model.event.ReservationEvent;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "garage.notifications.enabled=true",
+        "garage.notifications.recipients=desk@garage.test",
+        "garage.notifications.batch-window=50ms"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReservationMailNotifierTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Test
+    void committedBookingsAndCancellations_shouldBeMailedAfterCommit() throws Exception {
+        Car car = carRepository.save(Car.builder().brand("brand").model("model").price(100.0).fuelType("fuel").build());
+        Garage garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(10).acceptsLPG(true).build());
+
+        ReservationDto kept = book(car, garage, 1);
+        ReservationDto cancelled = book(car, garage, 2);
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 2));
+        reservationService.deleteReservation(cancelled.getId());
+
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 3));
+        MimeMessage[] messages = greenMail.getReceivedMessages();
+        Set<String> subjects = Arrays.stream(messages).map(this::subject).collect(Collectors.toSet());
+        assertTrue(subjects.contains("Reservation " + kept.getId() + " confirmed"), subjects::toString);
+        assertTrue(subjects.contains("Reservation " + cancelled.getId() + " cancelled"), subjects::toString);
+        assertEquals("desk@garage.test", messages[0].getAllRecipients()[0].toString());
+    }
+
+    @Test
+    void rejectedBooking_shouldNotBeMailed() {
+        Car car = carRepository.save(Car.builder().brand("brand").model("model").price(100.0).fuelType("fuel").build());
+        Garage garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(1).acceptsLPG(true).build());
+        book(car, garage, 1);
+
+        assertThrows(RuntimeException.class, () -> book(car, garage, 1));
+
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 1));
+        assertFalse(greenMail.waitForIncomingEmail(500, 2));
+    }
+
+    @Test
+    void fullQueue_shouldDropWithoutBlockingTheCommittingThread() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl() {
+            @Override
+            protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        NotificationProperties properties = new NotificationProperties();
+        properties.setRecipients(List.of("desk@garage.test"));
+        properties.setWorkers(1);
+        properties.setQueueCapacity(1);
+        properties.setBatchWindow(Duration.ZERO);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReservationMailNotifier notifier = new ReservationMailNotifier(mailSender, properties, meterRegistry);
+        try {
+            notifier.onReservationEvent(event(1L));
+            assertTrue(sending.await(10, TimeUnit.SECONDS));
+
+            // a blocking offer would hold this thread for the enqueue timeout of every dropped event
+            assertTimeout(Duration.ofSeconds(1), () -> {
+                for (long id = 2; id <= 20; id++) {
+                    notifier.onReservationEvent(event(id));
+                }
+            });
+
+            assertEquals(18, meterRegistry.get("garage.notifications").tag("outcome", "dropped").counter().count());
+        } finally {
+            release.countDown();
+            notifier.shutdown();
+        }
+    }
+
+    @Test
+    void coalesce_shouldKeepOneMailPerReservation() {
+        ReservationDto first = ReservationDto.builder().id(1L).build();
+        ReservationDto firstMoved = ReservationDto.builder().id(1L).fromDate(LocalDate.of(2030, 1, 2)).build();
+        ReservationDto second = ReservationDto.builder().id(2L).build();
+        ReservationDto third = ReservationDto.builder().id(3L).build();
+
+        List<ReservationEvent> coalesced = ReservationMailNotifier.coalesce(List.of(
+                new ReservationEvent(ReservationEvent.Type.CREATED, first),
+                new ReservationEvent(ReservationEvent.Type.CREATED, second),
+                new ReservationEvent(ReservationEvent.Type.UPDATED, third),
+                new ReservationEvent(ReservationEvent.Type.UPDATED, firstMoved),
+                new ReservationEvent(ReservationEvent.Type.CANCELLED, second),
+                new ReservationEvent(ReservationEvent.Type.CANCELLED, third)));
+
+        assertEquals(2, coalesced.size());
+        assertEquals(ReservationEvent.Type.CREATED, coalesced.get(0).getType());
+        assertSame(firstMoved, coalesced.get(0).getReservation());
+        assertEquals(ReservationEvent.Type.CANCELLED, coalesced.get(1).getType());
+        assertEquals(3L, coalesced.get(1).getReservation().getId());
+    }
+
+    private static ReservationEvent event(Long id) {
+        return new ReservationEvent(ReservationEvent.Type.CREATED, ReservationDto.builder().id(id).build());
+    }
+
+    private ReservationDto book(Car car, Garage garage, int offset) {
+        CreateReservationCommand command = new CreateReservationCommand();
+        command.setCarId(car.getId());
+        command.setGarageId(garage.getId());
+        command.setFromDate(LocalDate.now().plusDays(offset));
+        command.setToDate(LocalDate.now().plusDays(offset));
+        return reservationService.save(command);
+    }
+
+    private String subject(MimeMessage message) {
+        try {
+            return message.getSubject();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.command.CreateReservationCommand;
+import org.example.model.dto.ReservationDto;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.OutboxEventRepository;
+import org.example.service.ReservationService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "garage.outbox.enabled=true",
+        "garage.outbox.sink=http",
+        "garage.outbox.poll-interval=1h"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class HttpOutboxSinkTest {
+
+    private static final List<String> received = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger failuresLeft = new AtomicInteger();
+    private static HttpServer stub;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/events", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes());
+            int status = failuresLeft.getAndDecrement() > 0 ? 503 : 204;
+            if (status == 204) {
+                received.add(body);
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void stubUrl(DynamicPropertyRegistry registry) {
+        registry.add("garage.outbox.http.url", () -> "http://localhost:" + stub.getAddress().getPort() + "/events");
+    }
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void relay_shouldKeepEventsUntilTheSinkAcceptsThem() throws Exception {
+        Car car = carRepository.save(Car.builder().brand("brand").model("model").price(100.0).fuelType("fuel").build());
+        Garage garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(10).acceptsLPG(true).build());
+        CreateReservationCommand create = new CreateReservationCommand();
+        create.setCarId(car.getId());
+        create.setGarageId(garage.getId());
+        create.setFromDate(LocalDate.now().plusDays(1));
+        create.setToDate(LocalDate.now().plusDays(2));
+        ReservationDto reservation = reservationService.save(create);
+        failuresLeft.set(1);
+
+        assertEquals(0, relay.relay());
+        assertEquals(1, outboxEventRepository.count());
+        assertTrue(received.isEmpty());
+
+        assertEquals(1, relay.relay());
+        assertEquals(0, outboxEventRepository.count());
+        JsonNode batch = objectMapper.readTree(received.get(0));
+        assertEquals(1, batch.size());
+        assertEquals("ReservationCreated", batch.get(0).get("type").asText());
+        assertEquals(reservation.getId().longValue(), batch.get(0).get("payload").get("id").asLong());
+    }
+}
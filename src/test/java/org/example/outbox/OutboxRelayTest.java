@@ -0,0 +1,108 @@
+package org.example.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.command.CreateReservationCommand;
+import org.example.model.command.UpdateReservationCommand;
+import org.example.model.dto.ReservationDto;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.OutboxEventRepository;
+import org.example.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "garage.outbox.enabled=true",
+        "garage.outbox.sink=log",
+        "garage.outbox.poll-interval=1h",
+        "garage.outbox.batch-size=2"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class OutboxRelayTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void outboxFile(DynamicPropertyRegistry registry) {
+        registry.add("garage.outbox.log-file", () -> directory.resolve("outbox.ndjson").toString());
+    }
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void relay_shouldDeliverCommittedEventsInOrderAndEmptyTheOutbox() throws Exception {
+        Car car = carRepository.save(Car.builder().brand("brand").model("model").price(100.0).fuelType("fuel").build());
+        Garage garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(1).acceptsLPG(true).build());
+
+        CreateReservationCommand create = new CreateReservationCommand();
+        create.setCarId(car.getId());
+        create.setGarageId(garage.getId());
+        create.setFromDate(LocalDate.now().plusDays(1));
+        create.setToDate(LocalDate.now().plusDays(2));
+        ReservationDto reservation = reservationService.save(create);
+        assertThrows(RuntimeException.class, () -> reservationService.save(create));
+
+        UpdateReservationCommand update = new UpdateReservationCommand();
+        update.setCarId(car.getId());
+        update.setGarageId(garage.getId());
+        update.setFromDate(LocalDate.now().plusDays(3));
+        update.setToDate(LocalDate.now().plusDays(4));
+        reservationService.updateReservation(reservation.getId(), update);
+        reservationService.deleteReservation(reservation.getId());
+
+        assertEquals(3, outboxEventRepository.count(), "the rejected booking must not leave an event behind");
+
+        assertEquals(3, relay.relay());
+
+        assertEquals(0, outboxEventRepository.count());
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(directory.resolve("outbox.ndjson"))) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertEquals(List.of("ReservationCreated", "ReservationUpdated", "ReservationDeleted"),
+                lines.stream().map(line -> line.get("type").asText()).toList());
+        assertEquals(reservation.getId().longValue(), lines.get(1).get("aggregateId").asLong());
+        assertEquals(update.getFromDate().toString(), lines.get(1).get("payload").get("fromDate").asText());
+        assertEquals(3.0, meterRegistry.get("garage.outbox.relayed").counter().count());
+        assertEquals(3, meterRegistry.get("garage.outbox.lag").timer().count());
+
+        assertEquals(0, relay.relay());
+    }
+}
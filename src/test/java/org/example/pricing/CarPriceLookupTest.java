@@ -0,0 +1,113 @@
+package org.example.pricing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.example.configuration.PricingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarPriceLookupTest {
+    private MockWebServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private CarPriceLookup lookup;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (lookup != null) {
+            lookup.shutdown();
+        }
+        server.shutdown();
+    }
+
+    @Test
+    void price_shouldShareOneCallBetweenConcurrentLookupsAndCacheTheResult() throws Exception {
+        lookup = lookup(new PricingProperties());
+        server.enqueue(quote(1L, 25.0).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        List<CompletableFuture<Optional<Double>>> lookups = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lookups.add(lookup.price(1L));
+        }
+        for (CompletableFuture<Optional<Double>> price : lookups) {
+            assertEquals(Optional.of(25.0), price.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(Optional.of(25.0), lookup.price(1L).get(5, TimeUnit.SECONDS));
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals("/cars/1/price", server.takeRequest().getPath());
+    }
+
+    @Test
+    void price_shouldStopCallingTheServiceWhileTheCircuitIsOpen() throws Exception {
+        PricingProperties properties = new PricingProperties();
+        properties.setFailureThreshold(2);
+        properties.setOpenDuration(Duration.ofMillis(300));
+        lookup = lookup(properties);
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        assertEquals(Optional.empty(), lookup.price(1L).get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.empty(), lookup.price(2L).get(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.OPEN, lookup.circuitState());
+
+        assertEquals(Optional.empty(), lookup.price(3L).get(5, TimeUnit.SECONDS));
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1.0, meterRegistry.counter("garage.pricing.requests", "outcome", "rejected").count());
+
+        Thread.sleep(400);
+        server.enqueue(quote(3L, 30.0));
+        assertEquals(Optional.of(30.0), lookup.price(3L).get(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.CLOSED, lookup.circuitState());
+    }
+
+    @Test
+    void price_shouldGiveUpOnSlowResponsesAndNotCacheMisses() throws Exception {
+        PricingProperties properties = new PricingProperties();
+        properties.setReadTimeout(Duration.ofMillis(200));
+        lookup = lookup(properties);
+        server.enqueue(quote(1L, 25.0).setHeadersDelay(1, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(quote(1L, 27.0));
+
+        assertEquals(Optional.empty(), lookup.price(1L).get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.empty(), lookup.price(1L).get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.of(27.0), lookup.price(1L).get(5, TimeUnit.SECONDS));
+
+        assertEquals(1.0, meterRegistry.counter("garage.pricing.requests", "outcome", "failed").count());
+        assertEquals(1.0, meterRegistry.counter("garage.pricing.requests", "outcome", "missing").count());
+        assertEquals(CircuitBreaker.State.CLOSED, lookup.circuitState());
+    }
+
+    private CarPriceLookup lookup(PricingProperties properties) {
+        properties.setEnabled(true);
+        properties.setUrl(server.url("/").toString());
+        PricingClientConfig config = new PricingClientConfig();
+        PricingClient client = config.pricingClient(config.pricingHttpClient(properties), properties);
+        return new CarPriceLookup(client, properties, meterRegistry);
+    }
+
+    private static MockResponse quote(Long carId, double price) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"carId\":" + carId + ",\"price\":" + price + "}");
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.pricing;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.command.CreateReservationCommand;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.OutboxEventRepository;
+import org.example.service.ReservationService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A refresh run waiting on a slow pricing service must not hold up the other scheduled jobs.
+ */
+@SpringBootTest(properties = {
+        "garage.pricing.enabled=true",
+        "garage.pricing.refresh-interval=100ms",
+        "garage.pricing.read-timeout=10s",
+        "garage.outbox.enabled=true",
+        "garage.outbox.poll-interval=100ms"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CarPriceRefresherSchedulingTest {
+
+    private static final CountDownLatch pricingCalled = new CountDownLatch(1);
+    private static final MockWebServer server = new MockWebServer();
+
+    static {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                pricingCalled.countDown();
+                return new MockResponse().setResponseCode(404).setHeadersDelay(5, TimeUnit.SECONDS);
+            }
+        });
+    }
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("garage.pricing.url", () -> server.url("/").toString());
+        registry.add("garage.outbox.log-file", () -> directory.resolve("outbox.ndjson").toString());
+    }
+
+    @AfterAll
+    static void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Test
+    void outboxRelay_shouldKeepRunningWhileARefreshWaitsForPrices() throws Exception {
+        Car car = carRepository.save(Car.builder().brand("brand").model("model").price(100.0).fuelType("fuel").build());
+        Garage garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(1).build());
+        assertTrue(pricingCalled.await(10, TimeUnit.SECONDS));
+
+        CreateReservationCommand command = new CreateReservationCommand();
+        command.setCarId(car.getId());
+        command.setGarageId(garage.getId());
+        command.setFromDate(LocalDate.now());
+        command.setToDate(LocalDate.now());
+        reservationService.save(command);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (outboxEventRepository.count() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, outboxEventRepository.count());
+    }
+}
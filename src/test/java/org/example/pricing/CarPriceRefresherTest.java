@@ -0,0 +1,89 @@
+package org.example.pricing;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.example.model.Car;
+import org.example.repository.CarRepository;
+import org.example.service.CarService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "garage.pricing.enabled=true",
+        "garage.pricing.refresh-interval=1h",
+        "garage.pricing.batch-size=2"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CarPriceRefresherTest {
+
+    private static final Map<String, Double> prices = new ConcurrentHashMap<>();
+    private static final MockWebServer server = new MockWebServer();
+
+    static {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                Double price = prices.get(request.getPath());
+                if (price == null) {
+                    return new MockResponse().setResponseCode(404);
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{\"price\":" + price + "}");
+            }
+        });
+    }
+
+    @DynamicPropertySource
+    static void pricingUrl(DynamicPropertyRegistry registry) {
+        registry.add("garage.pricing.url", () -> server.url("/").toString());
+    }
+
+    @AfterAll
+    static void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Autowired
+    private CarPriceRefresher refresher;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Test
+    void refresh_shouldStoreChangedPricesAndKeepTheRest() throws Exception {
+        Car repriced = carRepository.save(car());
+        Car unchanged = carRepository.save(car());
+        Car unknown = carRepository.save(car());
+        prices.put("/cars/" + repriced.getId() + "/price", 150.0);
+        prices.put("/cars/" + unchanged.getId() + "/price", 100.0);
+        assertEquals(100.0, carService.findCarById(repriced.getId()).orElseThrow().getPrice());
+
+        assertEquals(1, refresher.refresh());
+
+        assertEquals(150.0, carService.findCarById(repriced.getId()).orElseThrow().getPrice());
+        assertEquals(150.0, carService.getCarById(repriced.getId()).orElseThrow().getPrice());
+        assertEquals(100.0, carService.getCarById(unchanged.getId()).orElseThrow().getPrice());
+        assertEquals(100.0, carService.getCarById(unknown.getId()).orElseThrow().getPrice());
+    }
+
+    private static Car car() {
+        return Car.builder().brand("brand").model("model").price(100.0).fuelType("fuel").build();
+    }
+}
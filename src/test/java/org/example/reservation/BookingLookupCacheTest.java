@@ -0,0 +1,117 @@
+package org.example.reservation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.configuration.CacheConfig;
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.command.UpdateCarCommand;
+import org.example.model.command.UpdateGarageCommand;
+import org.example.model.dto.GarageSnapshot;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.service.CarService;
+import org.example.service.GarageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingLookupCacheTest {
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Car car;
+    private Garage garage;
+
+    @BeforeEach
+    void init() {
+        car = carRepository.save(Car.builder()
+                .brand("brand")
+                .model("model")
+                .price(100.0)
+                .fuelType("fuel")
+                .build());
+        garage = garageRepository.save(Garage.builder()
+                .address("address")
+                .numberOfPlaces(10)
+                .build());
+    }
+
+    @Test
+    void findCarById_shouldServeRepeatedLookupsFromCacheUntilCarIsUpdated() {
+        assertEquals("brand", carService.findCarById(car.getId()).orElseThrow().getBrand());
+        carRepository.deleteAll();
+        assertEquals("brand", carService.findCarById(car.getId()).orElseThrow().getBrand());
+        assertEquals(1.0, cacheGets(CacheConfig.CARS, "hit"));
+        assertEquals(1.0, cacheGets(CacheConfig.CARS, "miss"));
+
+        car = carRepository.save(car);
+        UpdateCarCommand command = new UpdateCarCommand();
+        command.setBrand("updated");
+        command.setModel("model");
+        command.setPrice(200.0);
+        command.setFuelType("fuel");
+        carService.updateCar(car.getId(), command);
+
+        assertEquals("updated", carService.findCarById(car.getId()).orElseThrow().getBrand());
+    }
+
+    @Test
+    void findGarageById_shouldBeEvictedWhenGarageIsDeleted() {
+        assertTrue(garageService.findGarageById(garage.getId()).isPresent());
+        assertTrue(garageService.findGarageById(garage.getId()).isPresent());
+        assertEquals(1.0, cacheGets(CacheConfig.GARAGES, "hit"));
+
+        garageService.deleteGarage(garage.getId());
+
+        assertFalse(garageService.findGarageById(garage.getId()).isPresent());
+    }
+
+    @Test
+    void findGarageById_shouldNotCacheMissingGarages() {
+        assertFalse(garageService.findGarageById(garage.getId() + 1).isPresent());
+        Garage created = garageRepository.save(Garage.builder().address("new").numberOfPlaces(1).build());
+
+        assertTrue(garageService.findGarageById(created.getId()).isPresent());
+
+        UpdateGarageCommand command = new UpdateGarageCommand();
+        command.setId(created.getId());
+        command.setAddress("changed");
+        command.setNumberOfPlaces(3);
+        garageService.updateGarage(created.getId(), command);
+        assertEquals(3, garageService.findGarageById(created.getId()).orElseThrow().getNumberOfPlaces());
+    }
+
+    @Test
+    void findGarageById_shouldCacheASnapshotDetachedFromTheEntity() {
+        GarageSnapshot first = garageService.findGarageById(garage.getId()).orElseThrow();
+        garage.setNumberOfPlaces(1);
+
+        GarageSnapshot second = garageService.findGarageById(garage.getId()).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(10, second.getNumberOfPlaces());
+    }
+
+    private double cacheGets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.reservation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.command.CreateReservationCommand;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.service.BookingMetrics;
+import org.example.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.Base64Utils;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingMetricsTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Car car;
+    private Car lpgCar;
+    private Garage garage;
+
+    @BeforeEach
+    void init() {
+        car = carRepository.save(Car.builder().brand("brand").model("model").price(100.0).fuelType("fuel").build());
+        lpgCar = carRepository.save(Car.builder().brand("brand").model("model").price(100.0).fuelType("LPG").build());
+        garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(1).build());
+    }
+
+    @Test
+    void save_shouldCountRejectionsByReasonAndTimeServiceCalls() throws Exception {
+        reservationService.save(command(car.getId(), garage.getId()));
+        assertThrows(RuntimeException.class, () -> reservationService.save(command(car.getId(), garage.getId())));
+        assertThrows(RuntimeException.class, () -> reservationService.save(command(lpgCar.getId(), garage.getId())));
+        assertThrows(RuntimeException.class, () -> reservationService.save(command(car.getId(), garage.getId() + 100)));
+
+        assertEquals(1, rejections("no_capacity"));
+        assertEquals(1, rejections("lpg"));
+        assertEquals(1, rejections("not_found"));
+        assertEquals(4, meterRegistry.get("garage.service")
+                .tag("class", "org.example.service.ReservationServiceImpl").tag("method", "save").timers().stream()
+                .mapToLong(timer -> timer.count()).sum());
+        assertEquals(4, meterRegistry.get("garage.booking.lock.wait")
+                .tag("mode", "pessimistic").tag("operation", BookingMetrics.SINGLE).timer().count());
+        assertTrue(meterRegistry.get("spring.data.repository.invocations")
+                .tag("method", "findLockedByIdAndDeletedFalse").timer().count() > 0);
+
+        mockMvc.perform(get("/actuator/metrics/garage.booking.rejections").param("tag", "reason:lpg")
+                        .header("Authorization", "Basic " + Base64Utils.encodeToString("user:password".getBytes())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(1.0));
+    }
+
+    @Test
+    void delete_shouldTimeWaitsForReservationAndGarageRowLocks() {
+        Long id = reservationService.save(command(car.getId(), garage.getId())).getId();
+
+        reservationService.deleteReservation(id);
+
+        assertEquals(3, meterRegistry.get("garage.booking.lock.wait")
+                .tag("mode", "pessimistic").tag("operation", BookingMetrics.SINGLE).timer().count());
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("garage.booking.rejections").tag("reason", reason).counter().count();
+    }
+
+    private CreateReservationCommand command(Long carId, Long garageId) {
+        CreateReservationCommand command = new CreateReservationCommand();
+        command.setCarId(carId);
+        command.setGarageId(garageId);
+        command.setFromDate(LocalDate.now());
+        command.setToDate(LocalDate.now().plusDays(1));
+        return command;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.reservation;
+
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.command.CreateReservationCommand;
+import org.example.model.dto.ReservationDto;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.ReservationRepository;
+import org.example.service.CarService;
+import org.example.service.DeletedRowArchiver;
+import org.example.service.GarageService;
+import org.example.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "garage.archival.batch-size=2")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DeletedRowArchiverTest {
+
+    @Autowired
+    private DeletedRowArchiver archiver;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void archiveDeletedBefore_shouldMoveExpiredRowsInBatches() {
+        Car car = carRepository.save(Car.builder().brand("brand").model("model").price(100.0).fuelType("fuel").build());
+        Car keptCar = carRepository.save(Car.builder().brand("kept").model("model").price(100.0).fuelType("fuel").build());
+        Garage garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(10).acceptsLPG(true).build());
+
+        List<Long> deletedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            deletedIds.add(book(car, garage, i).getId());
+        }
+        ReservationDto active = book(keptCar, garage, 10);
+        deletedIds.forEach(reservationService::deleteReservation);
+        carService.deleteCar(car.getId());
+        carService.deleteCar(keptCar.getId());
+
+        assertEquals(0, archiver.archiveDeletedBefore(Instant.now().minusSeconds(3600)));
+
+        assertEquals(6, archiver.archiveDeletedBefore(Instant.now().plusSeconds(1)));
+
+        assertEquals(List.of(active.getId()), reservationRepository.findAll().stream().map(r -> r.getId()).toList());
+        assertFalse(carRepository.existsById(car.getId()));
+        assertTrue(carRepository.existsById(keptCar.getId()), "a car still referenced by a reservation stays put");
+        assertTrue(garageRepository.existsById(garage.getId()));
+        assertEquals(5, jdbcTemplate.queryForObject("select count(*) from reservation_archive where deleted_at is not null", Integer.class));
+        assertEquals("brand", jdbcTemplate.queryForObject("select brand from car_archive where id = ?", String.class, car.getId()));
+    }
+
+    private ReservationDto book(Car car, Garage garage, int offset) {
+        CreateReservationCommand command = new CreateReservationCommand();
+        command.setCarId(car.getId());
+        command.setGarageId(garage.getId());
+        command.setFromDate(LocalDate.now().plusDays(offset));
+        command.setToDate(LocalDate.now().plusDays(offset));
+        return reservationService.save(command);
+    }
+}
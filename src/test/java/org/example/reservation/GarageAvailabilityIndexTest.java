@@ -0,0 +1,201 @@
+package org.example.reservation;
+
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.Reservation;
+import org.example.model.command.CreateReservationCommand;
+import org.example.model.dto.FreeSlotDto;
+import org.example.model.dto.ReservationDto;
+import org.example.model.dto.ReservationPeriod;
+import org.example.model.filter.FreeSlotQuery;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.ReservationRepository;
+import org.example.service.GarageAvailabilityIndex;
+import org.example.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class GarageAvailabilityIndexTest {
+
+    @Autowired
+    private GarageAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    private Car car;
+    private LocalDate today;
+
+    @BeforeEach
+    void init() {
+        today = LocalDate.now();
+        car = carRepository.save(Car.builder()
+                .brand("brand")
+                .model("model")
+                .price(100.0)
+                .fuelType("fuel")
+                .build());
+    }
+
+    @Test
+    void peakOccupancy_shouldMatchOverlappingReservationsFromDatabase() {
+        Random random = new Random(42);
+        List<Garage> garages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            garages.add(garageRepository.save(Garage.builder().address("address" + i).numberOfPlaces(5).build()));
+        }
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = today.plusDays(random.nextInt(60));
+            reservationRepository.save(Reservation.builder()
+                    .car(car)
+                    .garage(garages.get(random.nextInt(garages.size())))
+                    .fromDate(from)
+                    .toDate(from.plusDays(random.nextInt(10)))
+                    .deleted(random.nextInt(5) == 0)
+                    .build());
+        }
+        availabilityIndex.rebuild();
+
+        for (int i = 0; i < 300; i++) {
+            Garage garage = garages.get(random.nextInt(garages.size()));
+            LocalDate from = today.plusDays(random.nextInt(70) - 5);
+            LocalDate to = from.plusDays(random.nextInt(15));
+
+            assertEquals(peakFromDatabase(garage, from, to), availabilityIndex.peakOccupancy(garage.getId(), from, to),
+                    garage.getId() + " " + from + ".." + to);
+        }
+    }
+
+    @Test
+    void save_shouldAllowUpToNumberOfPlacesOverlappingReservations() {
+        Garage garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(2).build());
+
+        ReservationDto first = reservationService.save(command(garage, today, today.plusDays(2)));
+        reservationService.save(command(garage, today.plusDays(1), today.plusDays(3)));
+        assertThrows(RuntimeException.class, () -> reservationService.save(command(garage, today.plusDays(2), today.plusDays(2))));
+        assertEquals(2, availabilityIndex.peakOccupancy(garage.getId(), today, today.plusDays(3)));
+
+        reservationService.deleteReservation(first.getId());
+        reservationService.save(command(garage, today.plusDays(2), today.plusDays(2)));
+
+        assertEquals(peakFromDatabase(garage, today, today.plusDays(3)), availabilityIndex.peakOccupancy(garage.getId(), today, today.plusDays(3)));
+    }
+
+    @Test
+    void rebuild_shouldRestoreStateFromRepository() {
+        Garage garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(1).build());
+        reservationService.save(command(garage, today, today.plusDays(1)));
+
+        availabilityIndex.rebuild();
+
+        assertEquals(1, availabilityIndex.peakOccupancy(garage.getId(), today.plusDays(1), today.plusDays(5)));
+        assertEquals(0, availabilityIndex.peakOccupancy(garage.getId(), today.plusDays(2), today.plusDays(5)));
+        assertFalse(reservationService.checkIfReservationIsFree(command(garage, today.minusDays(3), today)));
+    }
+
+    @Test
+    void findFreeSlots_shouldReturnEarliestStartWithFreePlaceOnEveryDay() {
+        Random random = new Random(7);
+        List<Garage> garages = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            garages.add(garageRepository.save(Garage.builder().address("address" + i).numberOfPlaces(1 + i % 3).build()));
+        }
+        for (int i = 0; i < 150; i++) {
+            LocalDate from = today.plusDays(random.nextInt(40));
+            reservationRepository.save(Reservation.builder()
+                    .car(car)
+                    .garage(garages.get(random.nextInt(garages.size())))
+                    .fromDate(from)
+                    .toDate(from.plusDays(random.nextInt(6)))
+                    .build());
+        }
+        availabilityIndex.rebuild();
+
+        for (int i = 0; i < 100; i++) {
+            FreeSlotQuery query = new FreeSlotQuery();
+            query.setCarId(car.getId());
+            query.setDays(1 + random.nextInt(5));
+            query.setFrom(today.plusDays(random.nextInt(45) - 3));
+            query.setTo(query.getFrom().plusDays(random.nextInt(20)));
+
+            Map<Long, LocalDate> slots = reservationService.findFreeSlots(query).stream()
+                    .collect(Collectors.toMap(FreeSlotDto::getGarageId, FreeSlotDto::getFromDate));
+            for (Garage garage : garages) {
+                assertEquals(earliestFromDatabase(garage, query), slots.get(garage.getId()), garage.getId() + " " + query);
+            }
+        }
+    }
+
+    @Test
+    void countOverlappingReservations_shouldSkipDeletedAndExcludedReservations() {
+        Garage garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(5).build());
+        Reservation kept = reservationRepository.save(Reservation.builder()
+                .car(car).garage(garage).fromDate(today).toDate(today.plusDays(2)).build());
+        reservationRepository.save(Reservation.builder()
+                .car(car).garage(garage).fromDate(today.plusDays(2)).toDate(today.plusDays(4)).build());
+        reservationRepository.save(Reservation.builder()
+                .car(car).garage(garage).fromDate(today).toDate(today.plusDays(4)).deleted(true).build());
+
+        assertEquals(2, reservationRepository.countOverlappingReservations(today.plusDays(2), today.plusDays(2), garage.getId(), null));
+        assertEquals(1, reservationRepository.countOverlappingReservations(today.plusDays(2), today.plusDays(2), garage.getId(), kept.getId()));
+        assertEquals(1, reservationRepository.countOverlappingReservations(today.plusDays(3), today.plusDays(9), garage.getId(), null));
+        assertEquals(0, reservationRepository.countOverlappingReservations(today.plusDays(5), today.plusDays(9), garage.getId(), null));
+    }
+
+    private LocalDate earliestFromDatabase(Garage garage, FreeSlotQuery query) {
+        for (LocalDate start = query.getFrom(); !start.plusDays(query.getDays() - 1).isAfter(query.getTo()); start = start.plusDays(1)) {
+            if (peakFromDatabase(garage, start, start.plusDays(query.getDays() - 1)) < garage.getNumberOfPlaces()) {
+                return start;
+            }
+        }
+        return null;
+    }
+
+    private int peakFromDatabase(Garage garage, LocalDate from, LocalDate to) {
+        List<ReservationPeriod> overlapping = reservationRepository.findOverlappingPeriods(from, to, garage.getId(), null);
+        int peak = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            int booked = 0;
+            for (ReservationPeriod reservation : overlapping) {
+                if (!day.isBefore(reservation.getFromDate()) && !day.isAfter(reservation.getToDate())) {
+                    booked++;
+                }
+            }
+            peak = Math.max(peak, booked);
+        }
+        return peak;
+    }
+
+    private CreateReservationCommand command(Garage garage, LocalDate from, LocalDate to) {
+        CreateReservationCommand command = new CreateReservationCommand();
+        command.setGarageId(garage.getId());
+        command.setCarId(car.getId());
+        command.setFromDate(from);
+        command.setToDate(to);
+        return command;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.reservation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.configuration.BookingProperties;
+import org.example.service.GarageLockManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GarageLockManagerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GarageLockManager lockManager;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        BookingProperties bookingProperties = new BookingProperties();
+        bookingProperties.setLockTimeout(Duration.ofMillis(200));
+        lockManager = new GarageLockManager(meterRegistry, bookingProperties);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @Test
+    void withLocks_shouldNotBlockBookingsOfOtherGarages() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> lockManager.withLocks(Collections.singleton(1L), () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holding.await();
+
+        assertEquals("other", lockManager.withLocks(Collections.singleton(2L), () -> "other"));
+        assertThrows(RuntimeException.class, () -> lockManager.withLocks(Arrays.asList(2L, 1L), () -> "both"));
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals("both", lockManager.withLocks(Arrays.asList(2L, 1L), () -> "both"));
+    }
+
+    @Test
+    void withLocks_shouldShareStripesBetweenGaragesInsteadOfGrowingPerGarage() throws Exception {
+        long sameStripe = 1L + new BookingProperties().getLockStripes();
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> lockManager.withLocks(Collections.singleton(1L), () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holding.await();
+
+        assertThrows(RuntimeException.class, () -> lockManager.withLocks(Collections.singleton(sameStripe), () -> "same stripe"));
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals("both", lockManager.withLocks(Arrays.asList(sameStripe, 1L), () -> "both"));
+    }
+
+    @Test
+    void withLocks_shouldRecordWaitTimePerStripeTaken() {
+        lockManager.withLocks(Collections.singleton(1L), () -> null);
+        lockManager.withLocks(Arrays.asList(1L, 2L), () -> null);
+
+        assertEquals(2, meterRegistry.get("garage.booking.lock.wait")
+                .tag("mode", "striped").tag("stripe", String.valueOf(lockManager.stripeOf(1L))).timer().count());
+        assertEquals(1, meterRegistry.get("garage.booking.lock.wait")
+                .tag("mode", "striped").tag("stripe", String.valueOf(lockManager.stripeOf(2L))).timer().count());
+        assertEquals(new BookingProperties().getLockStripes(), meterRegistry.get("garage.booking.lock.wait").timers().size());
+    }
+
+    @Test
+    void withLocks_shouldReleaseLocksWhenActionFails() {
+        assertThrows(IllegalStateException.class, () -> lockManager.withLocks(Collections.singleton(1L), () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertEquals("done", lockManager.withLocks(Collections.singleton(1L), () -> "done"));
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.reservation;
+
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.GarageOccupancy;
+import org.example.model.command.CreateReservationCommand;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageOccupancyRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.ReservationRepository;
+import org.example.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"garage.booking.mode=optimistic", "garage.booking.max-attempts=50"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class OptimisticBookingTest {
+    private static final int PLACES = 3;
+    private static final int CLIENTS = 8;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private GarageOccupancyRepository occupancyRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    private Car car;
+    private Garage garage;
+    private LocalDate today;
+
+    @BeforeEach
+    void init() {
+        today = LocalDate.now();
+        car = carRepository.save(Car.builder()
+                .brand("brand")
+                .model("model")
+                .price(100.0)
+                .fuelType("fuel")
+                .build());
+        garage = garageRepository.save(Garage.builder()
+                .address("address")
+                .numberOfPlaces(PLACES)
+                .build());
+    }
+
+    @Test
+    void save_shouldNotOverbookGarageUnderConcurrentBookings() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    reservationService.save(command(today, today.plusDays(2)));
+                } catch (RuntimeException e) {
+                    assertEquals("there is no free places for these dates", e.getMessage());
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(PLACES, reservationRepository.count());
+        assertEquals(CLIENTS - PLACES, rejected.get());
+        List<GarageOccupancy> occupancies = occupancyRepository.findByGarageIdAndDayBetween(garage.getId(), today, today.plusDays(2));
+        assertEquals(3, occupancies.size());
+        assertTrue(occupancies.stream().allMatch(occupancy -> occupancy.getBooked() == PLACES));
+    }
+
+    @Test
+    void deleteReservation_shouldFreeOccupiedDays() {
+        Long id = reservationService.save(command(today, today.plusDays(1))).getId();
+        reservationService.save(command(today, today));
+        reservationService.save(command(today, today));
+        assertThrows(RuntimeException.class, () -> reservationService.save(command(today, today)));
+
+        reservationService.deleteReservation(id);
+
+        assertNotNull(reservationService.save(command(today, today)).getId());
+    }
+
+    private CreateReservationCommand command(LocalDate from, LocalDate to) {
+        CreateReservationCommand command = new CreateReservationCommand();
+        command.setGarageId(garage.getId());
+        command.setCarId(car.getId());
+        command.setFromDate(from);
+        command.setToDate(to);
+        return command;
+    }
+}
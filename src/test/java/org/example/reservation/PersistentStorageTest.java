@@ -0,0 +1,62 @@
+package org.example.reservation;
+
+import org.example.GarageApplication;
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.command.CreateReservationCommand;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.service.GarageAvailabilityIndex;
+import org.example.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentStorageTest {
+
+    @TempDir
+    Path storage;
+
+    @Test
+    void reservationsAndAvailabilitySurviveRestart() {
+        LocalDate today = LocalDate.now();
+        Long garageId;
+        Long reservationId;
+        try (ConfigurableApplicationContext context = start()) {
+            Car car = context.getBean(CarRepository.class).save(Car.builder()
+                    .brand("brand").model("model").price(100.0).fuelType("fuel").build());
+            Garage garage = context.getBean(GarageRepository.class).save(Garage.builder()
+                    .address("address").numberOfPlaces(1).build());
+            garageId = garage.getId();
+
+            CreateReservationCommand command = new CreateReservationCommand();
+            command.setCarId(car.getId());
+            command.setGarageId(garageId);
+            command.setFromDate(today);
+            command.setToDate(today.plusDays(2));
+            reservationId = context.getBean(ReservationService.class).save(command).getId();
+        }
+        assertTrue(Files.exists(storage.resolve("garage.mv.db")));
+
+        try (ConfigurableApplicationContext context = start()) {
+            assertTrue(context.getBean(ReservationService.class).getReservationById(reservationId).isPresent());
+            GarageAvailabilityIndex availabilityIndex = context.getBean(GarageAvailabilityIndex.class);
+            assertTrue(availabilityIndex.isReady());
+            assertEquals(1, availabilityIndex.peakOccupancy(garageId, today.plusDays(1), today.plusDays(5)));
+            assertEquals(0, availabilityIndex.peakOccupancy(garageId, today.plusDays(3), today.plusDays(5)));
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(GarageApplication.class)
+                .profiles("persistent")
+                .run("--server.port=0", "--garage.storage.path=" + storage.resolve("garage").toAbsolutePath());
+    }
+}
@@ -7,9 +7,11 @@ import org.example.model.Reservation;
 import org.example.model.command.CreateReservationCommand;
 import org.example.model.command.UpdateCarCommand;
 import org.example.model.command.UpdateReservationCommand;
+import org.example.model.dto.ReservationDto;
 import org.example.repository.CarRepository;
 import org.example.repository.GarageRepository;
 import org.example.repository.ReservationRepository;
+import org.example.service.GarageAvailabilityIndex;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,12 +21,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.util.Base64Utils;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.util.AssertionErrors.assertFalse;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -51,6 +57,9 @@ public class ReservationControllerTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    GarageAvailabilityIndex availabilityIndex;
+
     private Reservation reservation;
     private Car car;
     private Garage garage;
@@ -196,4 +205,169 @@ public class ReservationControllerTest {
         assertTrue(reservationRepository.findById(2L).isPresent());
     }
 
+    @Test
+    void testSaveBatch_ResultInPerItemResultsBeingReturned() throws Exception {
+        CreateReservationCommand valid = new CreateReservationCommand();
+        valid.setFromDate(LocalDate.now().plusDays(2));
+        valid.setToDate(LocalDate.now().plusDays(3));
+        valid.setCarId(car.getId());
+        valid.setGarageId(garage.getId());
+
+        CreateReservationCommand unknownCar = new CreateReservationCommand();
+        unknownCar.setFromDate(LocalDate.now().plusDays(2));
+        unknownCar.setToDate(LocalDate.now().plusDays(3));
+        unknownCar.setCarId(99L);
+        unknownCar.setGarageId(garage.getId());
+
+        CreateReservationCommand missingDates = new CreateReservationCommand();
+        missingDates.setCarId(car.getId());
+        missingDates.setGarageId(garage.getId());
+
+        mockMvc.perform(post("/api/reservations/batch")
+                        .header("Authorization", "Basic " + Base64Utils.encodeToString("user:password".getBytes()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, unknownCar, missingDates, valid))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.items", hasSize(4)))
+                .andExpect(jsonPath("$.items[0].created").value(true))
+                .andExpect(jsonPath("$.items[0].reservation.id").value(2L))
+                .andExpect(jsonPath("$.items[1].created").value(false))
+                .andExpect(jsonPath("$.items[1].error").value("Car not found"))
+                .andExpect(jsonPath("$.items[2].created").value(false))
+                .andExpect(jsonPath("$.items[3].reservation.id").value(3L));
+
+        assertTrue(reservationRepository.findById(2L).isPresent());
+        assertTrue(reservationRepository.findById(3L).isPresent());
+    }
+
+    @Test
+    void testFindAll_ResultsInReservationsFilteredByDateRange() throws Exception {
+        reservationRepository.save(Reservation.builder()
+                .fromDate(LocalDate.now().plusDays(10))
+                .toDate(LocalDate.now().plusDays(12))
+                .car(car)
+                .garage(garage)
+                .build());
+
+        mockMvc.perform(get("/api/reservations")
+                        .param("garageId", String.valueOf(garage.getId()))
+                        .param("from", LocalDate.now().plusDays(11).format(DateTimeFormatter.ISO_DATE))
+                        .param("to", LocalDate.now().plusDays(20).format(DateTimeFormatter.ISO_DATE))
+                        .header("Authorization", "Basic " + Base64Utils.encodeToString("user:password".getBytes())))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$.[0].fromDate").value(LocalDate.now().plusDays(10).format(DateTimeFormatter.ISO_DATE)));
+    }
+
+    @Test
+    void testFindFreeSlots_ResultsInEarliestStartPerGarage() throws Exception {
+        Garage small = garageRepository.save(Garage.builder()
+                .address("small")
+                .numberOfPlaces(1)
+                .build());
+        reservationRepository.save(Reservation.builder()
+                .fromDate(LocalDate.now())
+                .toDate(LocalDate.now().plusDays(4))
+                .car(car)
+                .garage(small)
+                .build());
+        availabilityIndex.rebuild();
+
+        mockMvc.perform(get("/api/reservations/free-slots")
+                        .param("carId", String.valueOf(car.getId()))
+                        .param("days", "2")
+                        .param("from", LocalDate.now().format(DateTimeFormatter.ISO_DATE))
+                        .param("to", LocalDate.now().plusDays(10).format(DateTimeFormatter.ISO_DATE))
+                        .header("Authorization", "Basic " + Base64Utils.encodeToString("user:password".getBytes())))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$.[0].garageId").value(garage.getId()))
+                .andExpect(jsonPath("$.[0].fromDate").value(LocalDate.now().format(DateTimeFormatter.ISO_DATE)))
+                .andExpect(jsonPath("$.[1].garageId").value(small.getId()))
+                .andExpect(jsonPath("$.[1].fromDate").value(LocalDate.now().plusDays(5).format(DateTimeFormatter.ISO_DATE)))
+                .andExpect(jsonPath("$.[1].toDate").value(LocalDate.now().plusDays(6).format(DateTimeFormatter.ISO_DATE)));
+    }
+
+    @Test
+    void testExport_ResultInNdjsonStreamBeingReturned() throws Exception {
+        reservationRepository.save(Reservation.builder()
+                .fromDate(LocalDate.now().plusDays(10))
+                .toDate(LocalDate.now().plusDays(12))
+                .car(car)
+                .garage(garage)
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/api/reservations/export")
+                        .header("Authorization", "Basic " + Base64Utils.encodeToString("user:password".getBytes())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofHours(1).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(reservation.getId(), objectMapper.readValue(lines[0], ReservationDto.class).getId());
+        assertEquals(LocalDate.now().plusDays(10), objectMapper.readValue(lines[1], ReservationDto.class).getFromDate());
+    }
+
+    @Test
+    void testChanges_ResultInCreatesUpdatesAndDeletesBeingFedInOrder() throws Exception {
+        String authorization = "Basic " + Base64Utils.encodeToString("user:password".getBytes());
+        CreateReservationCommand first = new CreateReservationCommand();
+        first.setCarId(car.getId());
+        first.setGarageId(garage.getId());
+        first.setFromDate(LocalDate.now().plusDays(10));
+        first.setToDate(LocalDate.now().plusDays(11));
+        CreateReservationCommand second = new CreateReservationCommand();
+        second.setCarId(car.getId());
+        second.setGarageId(garage.getId());
+        second.setFromDate(LocalDate.now().plusDays(20));
+        second.setToDate(LocalDate.now().plusDays(21));
+        ReservationDto created = readReservation(mockMvc.perform(post("/api/reservations")
+                        .header("Authorization", authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(first)))
+                .andExpect(status().isCreated())
+                .andReturn());
+        ReservationDto untouched = readReservation(mockMvc.perform(post("/api/reservations")
+                        .header("Authorization", authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(second)))
+                .andExpect(status().isCreated())
+                .andReturn());
+        mockMvc.perform(delete("/api/reservations/{id}", created.getId())
+                        .header("Authorization", authorization))
+                .andExpect(status().isNoContent());
+
+        MvcResult page = mockMvc.perform(get("/api/reservations/changes")
+                        .param("size", "1")
+                        .header("Authorization", authorization))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(untouched.getId()))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        mockMvc.perform(get("/api/reservations/changes")
+                        .param("after", page.getResponse().getHeader("X-Next-Cursor"))
+                        .header("Authorization", authorization))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(created.getId()))
+                .andExpect(jsonPath("$[0].deleted").value(true))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    private ReservationDto readReservation(MvcResult result) throws Exception {
+        return objectMapper.readValue(result.getResponse().getContentAsString(), ReservationDto.class);
+    }
 }
@@ -0,0 +1,109 @@
+package org.example.reservation;
+
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.Reservation;
+import org.example.model.dto.ReservationDto;
+import org.example.model.filter.ReservationFilter;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.ReservationRepository;
+import org.example.service.ReservationService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ReservationListingQueryTest {
+    private static final int RESERVATIONS = 10_000;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (reservationRepository.count() > 0) {
+            return;
+        }
+        List<Car> cars = new ArrayList<>();
+        List<Garage> garages = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            cars.add(carRepository.save(Car.builder().brand("brand").model("model" + i).price(100.0).fuelType("fuel").build()));
+            garages.add(garageRepository.save(Garage.builder().address("address" + i).numberOfPlaces(1000).build()));
+        }
+        List<Reservation> reservations = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < RESERVATIONS; i++) {
+            reservations.add(Reservation.builder()
+                    .car(cars.get(i % cars.size()))
+                    .garage(garages.get(i / cars.size() % garages.size()))
+                    .fromDate(today.plusDays(i % 100))
+                    .toDate(today.plusDays(i % 100 + 1))
+                    .build());
+        }
+        reservationRepository.saveAll(reservations);
+    }
+
+    @Test
+    void getAllReservations_shouldUseSingleStatementWithoutLoadingCarsOrGarages() {
+        statistics.clear();
+
+        List<ReservationDto> reservations = reservationService.getAllReservations();
+
+        assertEquals(RESERVATIONS, reservations.size());
+        assertNotNull(reservations.get(0).getCarId());
+        assertNotNull(reservations.get(0).getGarageId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getReservations_shouldUseSingleStatementPerPage() {
+        statistics.clear();
+
+        List<ReservationDto> page = reservationService.getReservations(new ReservationFilter(), null, 1000).getItems();
+
+        assertEquals(1000, page.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void exportReservations_shouldStreamWithSingleStatement() {
+        statistics.clear();
+        List<ReservationDto> exported = new ArrayList<>();
+
+        reservationService.exportReservations(exported::add);
+
+        assertEquals(RESERVATIONS, exported.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.reservation;
+
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.command.CreateReservationCommand;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReservationLoadTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 2;
+    private static final long DURATION_MILLIS = 3000;
+    private static final long LOCK_TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    private Car car;
+    private Garage garage;
+
+    @BeforeEach
+    void init() {
+        car = carRepository.save(Car.builder()
+                .brand("brand")
+                .model("model")
+                .price(100.0)
+                .fuelType("fuel")
+                .build());
+
+        garage = garageRepository.save(Garage.builder()
+                .address("address")
+                .numberOfPlaces(10)
+                .acceptsLPG(true)
+                .build());
+        for (int i = 0; i < 50; i++) {
+            garageRepository.save(Garage.builder()
+                    .address("address" + i)
+                    .numberOfPlaces(10)
+                    .build());
+        }
+    }
+
+    @Test
+    void listEndpointsKeepServingWhileReservationsAreBooked() throws Exception {
+        TestRestTemplate client = restTemplate.withBasicAuth("user", "password");
+        assertEquals(HttpStatus.OK, client.getForEntity("/api/garages", String.class).getStatusCode());
+
+        AtomicInteger bookings = new AtomicInteger();
+        Reads whileBooking = measureReads(client, WRITERS, bookings);
+        // measured afterwards so the reads see the same amount of data as the loaded run ended with
+        Reads baseline = measureReads(client, 0, new AtomicInteger());
+
+        String results = "bookings=" + bookings.get() + ", while booking: " + whileBooking + ", without bookings: " + baseline;
+        assertTrue(bookings.get() > 0, results);
+        assertTrue(whileBooking.allOk, results);
+        assertTrue(whileBooking.p99 < LOCK_TIMEOUT_MILLIS / 10, results);
+        // writers compete for the CPU, but reads queued behind garage locks would fall far below this floor
+        assertTrue(whileBooking.throughput >= baseline.throughput / 4, results);
+    }
+
+    private Reads measureReads(TestRestTemplate client, int writers, AtomicInteger bookings) throws InterruptedException {
+        AtomicInteger day = new AtomicInteger(bookings.get() * 2);
+        List<Long> readLatencies = Collections.synchronizedList(new ArrayList<>());
+        List<HttpStatus> readStatuses = Collections.synchronizedList(new ArrayList<>());
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers + READERS);
+        for (int i = 0; i < writers; i++) {
+            executor.submit(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    CreateReservationCommand command = new CreateReservationCommand();
+                    LocalDate from = LocalDate.now().plusDays(day.getAndAdd(2));
+                    command.setFromDate(from);
+                    command.setToDate(from.plusDays(1));
+                    command.setCarId(car.getId());
+                    command.setGarageId(garage.getId());
+                    client.postForEntity("/api/reservations", command, String.class);
+                    bookings.incrementAndGet();
+                }
+            });
+        }
+        for (int i = 0; i < READERS; i++) {
+            String url = i % 2 == 0 ? "/api/garages" : "/api/reservations";
+            executor.submit(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    long start = System.nanoTime();
+                    ResponseEntity<String> response = client.getForEntity(url, String.class);
+                    readLatencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    readStatuses.add(response.getStatusCode());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(DURATION_MILLIS + 30_000, TimeUnit.MILLISECONDS));
+
+        List<Long> latencies = new ArrayList<>(readLatencies);
+        assertFalse(latencies.isEmpty());
+        Collections.sort(latencies);
+        long p99 = latencies.get((int) Math.min(latencies.size() - 1, Math.ceil(latencies.size() * 0.99)));
+        return new Reads(latencies.size() * 1000.0 / DURATION_MILLIS, p99,
+                readStatuses.stream().allMatch(HttpStatus.OK::equals));
+    }
+
+    private static class Reads {
+        private final double throughput;
+        private final long p99;
+        private final boolean allOk;
+
+        Reads(double throughput, long p99, boolean allOk) {
+            this.throughput = throughput;
+            this.p99 = p99;
+            this.allOk = allOk;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f reads/s, p99=%dms, all ok=%b", throughput, p99, allOk);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.reservation;
+
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.command.CreateReservationCommand;
+import org.example.model.dto.ReservationDto;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.ReservationHistoryRepository;
+import org.example.repository.ReservationRepository;
+import org.example.service.GarageAvailabilityIndex;
+import org.example.service.ReservationRetirer;
+import org.example.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"garage.history.enabled=true", "garage.history.batch-size=2"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReservationRetirerTest {
+
+    @Autowired
+    private ReservationRetirer retirer;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private GarageAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationHistoryRepository historyRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Test
+    void retireEndedBefore_shouldMovePastBookingsOutOfTheActiveTable() {
+        Car car = carRepository.save(Car.builder().brand("brand").model("model").price(100.0).fuelType("fuel").build());
+        Garage garage = garageRepository.save(Garage.builder().address("address").numberOfPlaces(10).acceptsLPG(true).build());
+        LocalDate today = LocalDate.now();
+
+        List<ReservationDto> past = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            past.add(book(car, garage, today.minusDays(30 + i), today.minusDays(20 + i)));
+        }
+        ReservationDto current = book(car, garage, today.minusDays(1), today.plusDays(1));
+
+        assertEquals(3, retirer.retireEndedBefore(today));
+
+        assertEquals(List.of(current.getId()), reservationRepository.findAll().stream().map(r -> r.getId()).toList());
+        assertEquals(3, historyRepository.count());
+        assertEquals(0, availabilityIndex.peakOccupancy(garage.getId(), today.minusDays(40), today.minusDays(2)));
+        assertEquals(1, availabilityIndex.peakOccupancy(garage.getId(), today, today));
+
+        ReservationDto retired = reservationService.getReservationById(past.get(0).getId()).orElseThrow();
+        assertEquals(past.get(0).getFromDate(), retired.getFromDate());
+        assertEquals(garage.getId(), retired.getGarageId());
+
+        assertEquals(0, retirer.retireEndedBefore(today));
+    }
+
+    private ReservationDto book(Car car, Garage garage, LocalDate fromDate, LocalDate toDate) {
+        CreateReservationCommand command = new CreateReservationCommand();
+        command.setCarId(car.getId());
+        command.setGarageId(garage.getId());
+        command.setFromDate(fromDate);
+        command.setToDate(toDate);
+        return reservationService.save(command);
+    }
+}
@@ -1,24 +1,41 @@
 package org.example.reservation;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.configuration.BookingProperties;
+import org.example.configuration.PaginationProperties;
 import org.example.model.Car;
 import org.example.model.Garage;
+import org.example.model.GarageOccupancy;
 import org.example.model.Reservation;
 import org.example.model.command.CreateReservationCommand;
 import org.example.model.command.UpdateReservationCommand;
+import org.example.model.dto.CarSnapshot;
+import org.example.model.dto.GarageSnapshot;
+import org.example.model.dto.ReservationBatchResultDto;
 import org.example.model.dto.ReservationDto;
+import org.example.model.event.ReservationEvent;
+import org.example.model.dto.ReservationPeriod;
+import org.example.repository.GarageOccupancyRepository;
+import org.example.repository.ReservationHistoryRepository;
 import org.example.repository.ReservationRepository;
+import org.example.service.BookingMetrics;
 import org.example.service.CarService;
+import org.example.service.GarageAvailabilityIndex;
+import org.example.service.GarageLockManager;
+import org.example.service.GarageOccupancyCounter;
 import org.example.service.GarageService;
+import org.example.service.ReservationChangeSequence;
 import org.example.service.ReservationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -27,9 +44,13 @@ class ReservationServiceImplTest {
     @Mock
     private ReservationRepository reservationRepository;
     @Mock
+    private ReservationHistoryRepository historyRepository;
+    @Mock
     private CarService carService;
     @Mock
     private GarageService garageService;
+    @Mock
+    private GarageOccupancyRepository occupancyRepository;
 
     @InjectMocks
     private ReservationServiceImpl reservationService ;
@@ -37,18 +58,25 @@ class ReservationServiceImplTest {
     private Car car;
     private Garage garage;
     private Reservation reservation;
+    private final List<Object> events = new ArrayList<>();
 
     @BeforeEach
     void init(){
         MockitoAnnotations.openMocks(this);
 
-        reservationService = new ReservationServiceImpl(reservationRepository, carService, garageService);
+        reservationService = new ReservationServiceImpl(reservationRepository, historyRepository, carService, garageService,
+                new GarageAvailabilityIndex(reservationRepository), new GarageOccupancyCounter(occupancyRepository),
+                new ReservationChangeSequence(reservationRepository),
+                new GarageLockManager(new SimpleMeterRegistry(), new BookingProperties()),
+                new BookingMetrics(new SimpleMeterRegistry()),
+                new PaginationProperties(), new BookingProperties(), TransactionOperations.withoutTransaction(), events::add);
 
         car = new Car();
         car.setId(1L);
         car.setFuelType("Fuel");
         garage = new Garage();
         garage.setId(1L);
+        garage.setNumberOfPlaces(10);
         reservation = new Reservation();
         reservation.setId(1L);
         reservation.setCar(car);
@@ -63,8 +91,11 @@ class ReservationServiceImplTest {
         command.setFromDate(LocalDate.now());
         command.setToDate(LocalDate.now().plusDays(1));
 
-        when(carService.findCarById(command.getCarId())).thenReturn(Optional.of(car));
-        when(garageService.findGarageById(command.getGarageId())).thenReturn(Optional.of(garage));
+        when(carService.findCarById(command.getCarId())).thenReturn(Optional.of(CarSnapshot.fromEntity(car)));
+        when(carService.getCarReference(car.getId())).thenReturn(car);
+        when(garageService.lockGarageById(command.getGarageId())).thenReturn(Optional.of(garage));
+        when(garageService.findGarageById(command.getGarageId())).thenReturn(Optional.of(GarageSnapshot.fromEntity(garage)));
+        when(garageService.getGarageReference(garage.getId())).thenReturn(garage);
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
 
         ReservationDto savedReservationDto = reservationService.save(command);
@@ -74,11 +105,11 @@ class ReservationServiceImplTest {
 
     @Test
     void getAllReservations_ReturnsListOfReservationDto() {
-        List<Reservation> reservations = new ArrayList<>();
-        reservations.add(reservation);
-        when(carService.findCarById(anyLong())).thenReturn(Optional.of(car));
-        when(garageService.findGarageById(anyLong())).thenReturn(Optional.of(garage));
-        when(reservationRepository.findByDeletedFalse()).thenReturn(reservations);
+        List<ReservationDto> reservations = new ArrayList<>();
+        reservations.add(ReservationDto.fromEntity(reservation));
+        when(carService.findCarById(anyLong())).thenReturn(Optional.of(CarSnapshot.fromEntity(car)));
+        when(garageService.findGarageById(anyLong())).thenReturn(Optional.of(GarageSnapshot.fromEntity(garage)));
+        when(reservationRepository.findDtosByDeletedFalse()).thenReturn(reservations);
 
         List<ReservationDto> reservationDtos = reservationService.getAllReservations();
 
@@ -92,11 +123,11 @@ class ReservationServiceImplTest {
         Long reservationId = 1L;
         ReservationDto expectedDto = new ReservationDto();
 
-        when(reservationRepository.findByIdAndDeletedFalse(reservationId)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findDtoByIdAndDeletedFalse(reservationId)).thenReturn(Optional.of(ReservationDto.fromEntity(reservation)));
 
         Optional<ReservationDto> resultDto = reservationService.getReservationById(reservationId);
 
-        verify(reservationRepository).findByIdAndDeletedFalse(reservationId);
+        verify(reservationRepository).findDtoByIdAndDeletedFalse(reservationId);
 
 
     }
@@ -105,11 +136,11 @@ class ReservationServiceImplTest {
     void getReservationById_shouldReturnEmptyOptionalWhenNotFound() {
         Long reservationId = 1L;
 
-        when(reservationRepository.findByIdAndDeletedFalse(reservationId)).thenReturn(Optional.empty());
+        when(reservationRepository.findDtoByIdAndDeletedFalse(reservationId)).thenReturn(Optional.empty());
 
         Optional<ReservationDto> resultDto = reservationService.getReservationById(reservationId);
 
-        verify(reservationRepository).findByIdAndDeletedFalse(reservationId);
+        verify(reservationRepository).findDtoByIdAndDeletedFalse(reservationId);
     }
 
     @Test
@@ -121,6 +152,8 @@ class ReservationServiceImplTest {
         UpdateReservationCommand command = new UpdateReservationCommand();
         command.setGarageId(garageId);
         command.setCarId(carId);
+        command.setFromDate(LocalDate.now());
+        command.setToDate(LocalDate.now().plusDays(1));
 
         Reservation reservation = new Reservation();
         reservation.setId(reservationId);
@@ -128,14 +161,17 @@ class ReservationServiceImplTest {
         Garage garage = new Garage();
         garage.setId(garageId);
         garage.setAcceptsLPG(true);
+        garage.setNumberOfPlaces(1);
 
         Car car = new Car();
         car.setId(carId);
         car.setFuelType("LPG");
 
-        when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
-        when(garageService.findGarageById(garageId)).thenReturn(Optional.of(garage));
-        when(carService.findCarById(carId)).thenReturn(Optional.of(car));
+        when(reservationRepository.findLockedById(reservationId)).thenReturn(Optional.of(reservation));
+        when(garageService.lockGaragesByIds(anyCollection())).thenReturn(List.of(garage));
+        when(carService.findCarById(carId)).thenReturn(Optional.of(CarSnapshot.fromEntity(car)));
+        when(carService.getCarReference(carId)).thenReturn(car);
+        when(garageService.getGarageReference(garageId)).thenReturn(garage);
         when(reservationRepository.save(reservation)).thenReturn(reservation);
 
         ReservationDto result = reservationService.updateReservation(reservationId, command);
@@ -151,15 +187,22 @@ class ReservationServiceImplTest {
     @Test
     void deleteReservation_shouldSetDeletedFlagAndSaveReservation() {
         Long reservationId = 1L;
-        Reservation reservation = new Reservation();
+        reservation.setFromDate(LocalDate.now());
+        reservation.setToDate(LocalDate.now().plusDays(1));
 
-        when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findLockedById(reservationId)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(reservation)).thenReturn(reservation);
+        when(reservationRepository.nextChangeSeq()).thenReturn(7L);
 
         reservationService.deleteReservation(reservationId);
 
-        verify(reservationRepository).findById(reservationId);
+        verify(reservationRepository).findLockedById(reservationId);
+        verify(garageService).lockGarageById(garage.getId());
         verify(reservationRepository).save(reservation);
+        assertTrue(reservation.isDeleted());
+        assertEquals(Long.valueOf(7L), reservation.getChangeSeq());
+        assertEquals(1, events.size());
+        assertEquals(ReservationEvent.Type.CANCELLED, ((ReservationEvent) events.get(0)).getType());
 
     }
 
@@ -167,18 +210,105 @@ class ReservationServiceImplTest {
     void checkIfReservationIsFree_shouldReturnTrueWhenNoOverlappingReservations() {
         CreateReservationCommand command = new CreateReservationCommand();
         Garage garage = new Garage();
-        List<Reservation> overlappingReservations = Collections.emptyList();
+        garage.setId(1L);
+        garage.setNumberOfPlaces(1);
 
         command.setGarageId(1L);
 
-        when(garageService.findGarageById(command.getGarageId())).thenReturn(Optional.of(garage));
-        when(reservationRepository.findOverlappingReservations(command.getFromDate(), command.getToDate(), command.getGarageId())).thenReturn(overlappingReservations);
+        when(garageService.findGarageById(command.getGarageId())).thenReturn(Optional.of(GarageSnapshot.fromEntity(garage)));
+        when(reservationRepository.countOverlappingReservations(command.getFromDate(), command.getToDate(), command.getGarageId(), null)).thenReturn(0L);
 
         boolean result = reservationService.checkIfReservationIsFree(command);
 
         verify(garageService).findGarageById(command.getGarageId());
-        verify(reservationRepository).findOverlappingReservations(command.getFromDate(), command.getToDate(), command.getGarageId());
+        verify(reservationRepository).countOverlappingReservations(command.getFromDate(), command.getToDate(), command.getGarageId(), null);
+        verify(reservationRepository, never()).findOverlappingPeriods(any(), any(), any(), any());
 
         assertTrue(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkIfReservationIsFree_shouldReturnFalseWhenAllPlacesAreTaken() {
+        CreateReservationCommand command = new CreateReservationCommand();
+        command.setGarageId(1L);
+        command.setFromDate(LocalDate.now());
+        command.setToDate(LocalDate.now().plusDays(3));
+        garage.setNumberOfPlaces(2);
+
+        ReservationPeriod first = new ReservationPeriod(LocalDate.now(), LocalDate.now().plusDays(1));
+        ReservationPeriod second = new ReservationPeriod(LocalDate.now().plusDays(1), LocalDate.now().plusDays(2));
+
+        when(garageService.findGarageById(command.getGarageId())).thenReturn(Optional.of(GarageSnapshot.fromEntity(garage)));
+        when(reservationRepository.countOverlappingReservations(command.getFromDate(), command.getToDate(), command.getGarageId(), null))
+                .thenReturn(2L);
+        when(reservationRepository.findOverlappingPeriods(command.getFromDate(), command.getToDate(), command.getGarageId(), null))
+                .thenReturn(List.of(first, second));
+
+        assertFalse(reservationService.checkIfReservationIsFree(command));
+
+        garage.setNumberOfPlaces(3);
+        when(garageService.findGarageById(command.getGarageId())).thenReturn(Optional.of(GarageSnapshot.fromEntity(garage)));
+        assertTrue(reservationService.checkIfReservationIsFree(command));
+    }
+
+    @Test
+    void saveAll_shouldResolveEntitiesOnceAndRejectInvalidItems() {
+        garage.setNumberOfPlaces(1);
+        CreateReservationCommand first = new CreateReservationCommand();
+        first.setGarageId(1L);
+        first.setCarId(1L);
+        first.setFromDate(LocalDate.now());
+        first.setToDate(LocalDate.now().plusDays(1));
+        CreateReservationCommand unknownGarage = new CreateReservationCommand();
+        unknownGarage.setGarageId(2L);
+        unknownGarage.setCarId(1L);
+        unknownGarage.setFromDate(LocalDate.now());
+        unknownGarage.setToDate(LocalDate.now().plusDays(1));
+
+        when(carService.findCarsByIds(anyCollection())).thenReturn(List.of(car));
+        when(garageService.lockGaragesByIds(anyCollection())).thenReturn(List.of(garage));
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.nextChangeSeqs(1)).thenReturn(List.of(7L));
+
+        ReservationBatchResultDto result = reservationService.saveAll(List.of(first, unknownGarage));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getRejected());
+        assertTrue(result.getItems().get(0).isCreated());
+        assertEquals("Garage not found", result.getItems().get(1).getError());
+        verify(carService, times(1)).findCarsByIds(anyCollection());
+        verify(garageService, times(1)).lockGaragesByIds(anyCollection());
+        verify(reservationRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void saveAll_shouldCheckCountersInMemoryAndWriteThemOnce() {
+        garage.setNumberOfPlaces(2);
+        List<CreateReservationCommand> commands = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CreateReservationCommand command = new CreateReservationCommand();
+            command.setGarageId(1L);
+            command.setCarId(1L);
+            command.setFromDate(LocalDate.now());
+            command.setToDate(LocalDate.now().plusDays(1));
+            commands.add(command);
+        }
+
+        when(carService.findCarsByIds(anyCollection())).thenReturn(List.of(car));
+        when(garageService.lockGaragesByIds(anyCollection())).thenReturn(List.of(garage));
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.nextChangeSeqs(2)).thenReturn(List.of(7L, 8L));
+
+        ReservationBatchResultDto result = reservationService.saveAll(commands);
+
+        assertEquals(2, result.getCreated());
+        assertEquals("there is no free places for these dates", result.getItems().get(2).getError());
+        ArgumentCaptor<List<GarageOccupancy>> written = ArgumentCaptor.forClass(List.class);
+        verify(occupancyRepository, times(1)).findByGarageIdInAndDayBetween(anyCollection(), any(), any());
+        verify(occupancyRepository, times(1)).saveAllAndFlush(written.capture());
+        assertEquals(List.of(2, 2), written.getValue().stream().map(GarageOccupancy::getBooked).collect(Collectors.toList()));
+        verify(reservationRepository, times(1)).nextChangeSeqs(2);
+        verify(reservationRepository, never()).nextChangeSeq();
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.reservation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.GarageOccupancy;
+import org.example.model.command.CreateReservationCommand;
+import org.example.model.command.UpdateReservationCommand;
+import org.example.model.dto.ReservationBatchResultDto;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageOccupancyRepository;
+import org.example.repository.GarageRepository;
+import org.example.repository.ReservationRepository;
+import org.example.service.GarageLockManager;
+import org.example.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "garage.booking.mode=striped")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class StripedBookingTest {
+    private static final int PLACES = 3;
+    private static final int CLIENTS = 8;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private GarageLockManager lockManager;
+
+    @Autowired
+    private GarageOccupancyRepository occupancyRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Car car;
+    private Garage garage;
+    private LocalDate today;
+
+    @BeforeEach
+    void init() {
+        today = LocalDate.now();
+        car = carRepository.save(Car.builder()
+                .brand("brand")
+                .model("model")
+                .price(100.0)
+                .fuelType("fuel")
+                .build());
+        garage = garageRepository.save(Garage.builder()
+                .address("address")
+                .numberOfPlaces(PLACES)
+                .build());
+    }
+
+    @Test
+    void save_shouldNotOverbookGarageUnderConcurrentBookings() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    reservationService.save(command(today, today.plusDays(2)));
+                } catch (RuntimeException e) {
+                    assertEquals("there is no free places for these dates", e.getMessage());
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(PLACES, reservationRepository.count());
+        assertEquals(CLIENTS - PLACES, rejected.get());
+        assertEquals(CLIENTS, meterRegistry.get("garage.booking.lock.wait")
+                .tag("mode", "striped").tag("stripe", stripe(garage)).timer().count());
+    }
+
+    @Test
+    void updateReservation_shouldMoveReservationBetweenGarages() {
+        Garage other = garageRepository.save(Garage.builder().address("other").numberOfPlaces(1).build());
+        Long id = reservationService.save(command(today, today)).getId();
+
+        UpdateReservationCommand command = new UpdateReservationCommand();
+        command.setGarageId(other.getId());
+        command.setCarId(car.getId());
+        command.setFromDate(today);
+        command.setToDate(today);
+        assertEquals(other.getId(), reservationService.updateReservation(id, command).getGarageId());
+
+        assertFalse(reservationService.checkIfReservationIsFree(otherCommand(other)));
+        assertTrue(reservationService.checkIfReservationIsFree(command(today, today)));
+    }
+
+    @Test
+    void changes_shouldKeepOccupancyCountersInStepWhenReservationsMoveAndAreCancelledConcurrently() throws Exception {
+        Garage other = garageRepository.save(Garage.builder().address("other").numberOfPlaces(PLACES).build());
+        List<Long> existing = new ArrayList<>();
+        for (int i = 0; i < PLACES; i++) {
+            existing.add(reservationService.save(command(today, today)).getId());
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            int client = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    if (client < 2) {
+                        // both clients move the same reservation, each to the garage the other one moves it away from
+                        reservationService.updateReservation(existing.get(0), move(client == 0 ? other : garage));
+                    } else if (client < PLACES) {
+                        reservationService.deleteReservation(existing.get(client - 1));
+                    } else {
+                        reservationService.save(client % 2 == 0 ? command(today, today) : otherCommand(other));
+                    }
+                } catch (RuntimeException e) {
+                    assertEquals("there is no free places for these dates", e.getMessage());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        for (Garage booked : List.of(garage, other)) {
+            long active = reservationRepository.countOverlappingReservations(today, today, booked.getId(), null);
+            assertTrue(active <= PLACES);
+            assertEquals(active, occupancyRepository.findByGarageIdAndDayBetween(booked.getId(), today, today).stream()
+                    .mapToInt(GarageOccupancy::getBooked).sum());
+        }
+    }
+
+    @Test
+    void saveAll_shouldTakeStripesInsteadOfGarageRowLocks() {
+        ReservationBatchResultDto result = reservationService.saveAll(List.of(command(today, today), command(today, today)));
+
+        assertEquals(2, result.getCreated());
+        assertNull(meterRegistry.find("spring.data.repository.invocations")
+                .tag("method", "findLockedByIdInAndDeletedFalseOrderByIdAsc").timer());
+        assertEquals(1, meterRegistry.get("garage.booking.lock.wait")
+                .tag("mode", "striped").tag("stripe", stripe(garage)).timer().count());
+    }
+
+    private String stripe(Garage target) {
+        return String.valueOf(lockManager.stripeOf(target.getId()));
+    }
+
+    private UpdateReservationCommand move(Garage target) {
+        UpdateReservationCommand command = new UpdateReservationCommand();
+        command.setGarageId(target.getId());
+        command.setCarId(car.getId());
+        command.setFromDate(today);
+        command.setToDate(today);
+        return command;
+    }
+
+    private CreateReservationCommand otherCommand(Garage other) {
+        CreateReservationCommand command = command(today, today);
+        command.setGarageId(other.getId());
+        return command;
+    }
+
+    private CreateReservationCommand command(LocalDate from, LocalDate to) {
+        CreateReservationCommand command = new CreateReservationCommand();
+        command.setGarageId(garage.getId());
+        command.setCarId(car.getId());
+        command.setFromDate(from);
+        command.setToDate(to);
+        return command;
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.reservation;
+
+import org.example.GarageApplication;
+import org.example.configuration.ThreadingConfig;
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.example.model.command.CreateReservationCommand;
+import org.example.repository.CarRepository;
+import org.example.repository.GarageRepository;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the same mixed booking/listing workload against a platform-thread and a virtual-thread server.
+ * Tomcat is capped at a handful of workers so the platform mode queues requests that wait on garage locks.
+ */
+@Tag("load")
+class ThreadModeLoadTest {
+    private static final int CLIENTS = 32;
+    private static final long DURATION_MILLIS = 3000;
+    private static final long LOCK_TIMEOUT_MILLIS = 5000;
+
+    @Test
+    void platformThreadsServeMixedWorkloadWithoutErrors() throws Exception {
+        Result platform = run("platform");
+
+        assertEquals(0, platform.errors, "platform: " + platform);
+        assertTrue(platform.readP99 < LOCK_TIMEOUT_MILLIS, "platform: " + platform);
+    }
+
+    @Test
+    void virtualThreadsKeepReadsFlowingWhenTomcatPoolIsCapped() throws Exception {
+        Assumptions.assumeTrue(ThreadingConfig.virtualThreadsAvailable(), "virtual threads are not available on this JVM");
+
+        Result platform = run("platform");
+        Result virtual = run("virtual", "virtual-threads");
+
+        String results = "platform: " + platform + ", virtual: " + virtual;
+        assertEquals(0, platform.errors, results);
+        assertEquals(0, virtual.errors, results);
+        // reads never wait on garage locks, so with the worker cap gone they stay far below the lock timeout
+        assertTrue(virtual.readP99 < LOCK_TIMEOUT_MILLIS / 10, results);
+        // wide margin: both runs share the host with everything else, only a collapse should fail the build
+        assertTrue(virtual.throughput >= platform.throughput / 2, results);
+    }
+
+    private Result run(String name, String... profiles) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GarageApplication.class)
+                .profiles(profiles)
+                .properties("server.port=0",
+                        "server.tomcat.threads.max=8",
+                        "spring.datasource.url=jdbc:h2:mem:threads-" + name)
+                .run()) {
+            Car car = context.getBean(CarRepository.class).save(Car.builder()
+                    .brand("brand").model("model").price(100.0).fuelType("fuel").build());
+            List<Long> garageIds = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                garageIds.add(context.getBean(GarageRepository.class).save(Garage.builder()
+                        .address("address" + i).numberOfPlaces(1000).build()).getId());
+            }
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            RestTemplate client = new RestTemplateBuilder()
+                    .rootUri("http://localhost:" + port)
+                    .basicAuthentication("user", "password")
+                    .build();
+            client.getForObject("/api/garages", String.class);
+
+            AtomicInteger day = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            List<Long> readLatencies = Collections.synchronizedList(new ArrayList<>());
+            long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+            ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                boolean writer = i % 2 == 0;
+                Long garageId = garageIds.get(i % garageIds.size());
+                executor.submit(() -> {
+                    while (System.currentTimeMillis() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            if (writer) {
+                                CreateReservationCommand command = new CreateReservationCommand();
+                                LocalDate from = LocalDate.now().plusDays(day.getAndIncrement() % 500);
+                                command.setFromDate(from);
+                                command.setToDate(from.plusDays(1));
+                                command.setCarId(car.getId());
+                                command.setGarageId(garageId);
+                                client.postForObject("/api/reservations", command, String.class);
+                            } else {
+                                client.getForObject("/api/reservations?size=100", String.class);
+                            }
+                        } catch (RestClientException e) {
+                            errors.incrementAndGet();
+                        }
+                        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        latencies.add(latency);
+                        if (!writer) {
+                            readLatencies.add(latency);
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(DURATION_MILLIS + 60_000, TimeUnit.MILLISECONDS));
+
+            return new Result(latencies.size() * 1000.0 / DURATION_MILLIS, p99(latencies), p99(readLatencies),
+                    errors.get());
+        }
+    }
+
+    private static long p99(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(sorted.size() * 0.99)));
+    }
+
+    private static class Result {
+        private final double throughput;
+        private final long p99;
+        private final long readP99;
+        private final int errors;
+
+        Result(double throughput, long p99, long readP99, int errors) {
+            this.throughput = throughput;
+            this.p99 = p99;
+            this.readP99 = readP99;
+            this.errors = errors;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f req/s, p99=%dms, read p99=%dms, errors=%d", throughput, p99, readP99, errors);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CachingAuthenticationProviderTest {
+    private DaoAuthenticationProvider passwordProvider;
+
+    @BeforeEach
+    void init() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        passwordProvider = spy(new DaoAuthenticationProvider());
+        passwordProvider.setPasswordEncoder(passwordEncoder);
+        passwordProvider.setUserDetailsService(new InMemoryUserDetailsManager(
+                User.withUsername("user").password(passwordEncoder.encode("password")).roles("USER").build()));
+    }
+
+    @Test
+    void authenticate_shouldVerifyPasswordOnlyOnceWithinTtl() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(passwordProvider, Duration.ofMinutes(5), 100);
+
+        Authentication first = provider.authenticate(token("user", "password"));
+        Authentication second = provider.authenticate(token("user", "password"));
+
+        assertTrue(first.isAuthenticated());
+        assertSame(first, second);
+        verify(passwordProvider, times(1)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_shouldNotCacheFailedAttempts() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(passwordProvider, Duration.ofMinutes(5), 100);
+        provider.authenticate(token("user", "password"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("user", "wrong")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(token("user", "wrong")));
+        verify(passwordProvider, times(3)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_shouldVerifyAgainAfterTtl() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(passwordProvider, Duration.ZERO, 100);
+
+        provider.authenticate(token("user", "password"));
+        provider.authenticate(token("user", "password"));
+
+        verify(passwordProvider, times(2)).authenticate(any());
+    }
+
+    private UsernamePasswordAuthenticationToken token(String username, String password) {
+        return new UsernamePasswordAuthenticationToken(username, password);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.tracking;
+
+import org.example.model.Car;
+import org.example.model.Garage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeTrackerTest {
+
+    private final ChangeTracker changeTracker = new ChangeTracker(Clock.fixed(Instant.parse("2030-01-01T00:00:00Z"), ZoneOffset.UTC));
+
+    @AfterEach
+    void cleanUp() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void changed_withoutTransaction_shouldBumpOnlyThatType() {
+        String carEtag = changeTracker.stamp(Car.class).getEtag();
+        String garageEtag = changeTracker.stamp(Garage.class).getEtag();
+
+        changeTracker.changed(Car.class);
+
+        assertNotEquals(carEtag, changeTracker.stamp(Car.class).getEtag());
+        assertEquals(garageEtag, changeTracker.stamp(Garage.class).getEtag());
+    }
+
+    @Test
+    void changed_insideTransaction_shouldBumpOnceAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        changeTracker.changed(Car.class);
+        changeTracker.changed(Car.class);
+        assertEquals(0, changeTracker.stamp(Car.class).getVersion());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(1, changeTracker.stamp(Car.class).getVersion());
+    }
+
+    @Test
+    void changed_insideRolledBackTransaction_shouldNotBump() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        changeTracker.changed(Car.class);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(0, changeTracker.stamp(Car.class).getVersion());
+        assertNull(TransactionSynchronizationManager.getResource(changeTracker));
+    }
+
+    private void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}